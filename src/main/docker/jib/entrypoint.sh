@@ -37,4 +37,10 @@ file_env 'SPRING_LIQUIBASE_USER'
 file_env 'SPRING_LIQUIBASE_PASSWORD'
 file_env 'JHIPSTER_REGISTRY_PASSWORD'
 
+if [[ -f /app/cds/application.jsa ]]; then
+    # Image built with the cds Maven profile, see pom.xml
+    cd /app/cds
+    exec java ${JAVA_OPTS} -XX:SharedArchiveFile=application.jsa -XX:+AlwaysPreTouch -jar application.jar "$@"
+fi
+
 exec java ${JAVA_OPTS} -noverify -XX:+AlwaysPreTouch -cp /app/resources/:/app/classes/:/app/libs/* "io.github.jhipster.sample.JhipsterSampleApplicationApp"  "$@"
@@ -13,6 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.h2console.autoconfigure.H2ConsoleAutoConfiguration;
 import org.springframework.boot.liquibase.autoconfigure.LiquibaseProperties;
@@ -26,6 +27,11 @@ public class JhipsterSampleApplicationApp {
 
     private static final Logger LOG = LoggerFactory.getLogger(JhipsterSampleApplicationApp.class);
 
+    /**
+     * Startup steps kept for the {@code startuptimeline} endpoint, enough for every bean of the application.
+     */
+    private static final int STARTUP_STEPS_CAPACITY = 10_000;
+
     private final Environment env;
 
     public JhipsterSampleApplicationApp(Environment env) {
@@ -68,6 +74,7 @@ public class JhipsterSampleApplicationApp {
     public static void main(String[] args) {
         var app = new SpringApplication(JhipsterSampleApplicationApp.class);
         DefaultProfileUtil.addDefaultProfile(app);
+        app.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
         Environment env = app.run(args).getEnvironment();
         logApplicationStartup(env);
     }
@@ -0,0 +1,195 @@
+package io.github.jhipster.sample.aop.timing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Aspect recording the execution time of service and repository Spring components, and of the Web REST endpoints, in
+ * the {@code method.execution} timer, tagged by class and method.
+ * <p>
+ * The meters of each method are registered on its first call, then looked up by proxy class and method without
+ * allocating. A share of the calls can be timed only, and timing can be switched off at runtime, both with the
+ * {@code methodtiming} management endpoint. When sampling, the timer only holds the sampled calls: its count and rate
+ * are those of the calls divided by the sample rate, while its percentiles still estimate those of every call. Every
+ * call is counted in the {@code method.calls} counter, with the same tags, whatever the sample rate. Calls not timed
+ * cost a counter increment and a random draw, and only a volatile read when timing is off.
+ * <p>
+ * By default, it only runs with the "prod" profile, where it replaces the {@code LoggingAspect}.
+ */
+@Aspect
+public class TimingAspect {
+
+    public static final String METER_NAME = "method.execution";
+
+    public static final String CALLS_METER_NAME = "method.calls";
+
+    public static final String CLASS_TAG = "class";
+
+    public static final String METHOD_TAG = "method";
+
+    private static final String DESCRIPTION = "Execution time of the repository, service and REST methods, sampled calls only";
+
+    private static final String CALLS_DESCRIPTION = "Calls of the repository, service and REST methods, sampled or not";
+
+    private static final Duration MINIMUM_EXPECTED_VALUE = Duration.ofMillis(1);
+
+    private static final Duration MAXIMUM_EXPECTED_VALUE = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry;
+
+    private final ClassValue<Map<Method, MethodMeters>> meters = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodMeters> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final AtomicInteger timedMethods = new AtomicInteger();
+
+    private volatile boolean enabled;
+
+    private volatile double sampleRate;
+
+    public TimingAspect(MeterRegistry meterRegistry, boolean enabled, double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        setSampleRate(sampleRate);
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+            " || within(@org.springframework.stereotype.Service *)" +
+            " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut(
+        "within(io.github.jhipster.sample.repository..*)" +
+            " || within(io.github.jhipster.sample.service..*)" +
+            " || within(io.github.jhipster.sample.web.rest..*)"
+    )
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times methods.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable whatever the method throws.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        MethodMeters methodMeters = meters(joinPoint);
+        methodMeters.calls().increment();
+        if (!sampled()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            methodMeters.timer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return the number of methods timed so far.
+     */
+    public int getTimedMethods() {
+        return timedMethods.get();
+    }
+
+    private boolean sampled() {
+        double rate = sampleRate;
+        return rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private MethodMeters meters(ProceedingJoinPoint joinPoint) {
+        Class<?> type = joinPoint.getThis().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, MethodMeters> typeMeters = meters.get(type);
+        MethodMeters methodMeters = typeMeters.get(method);
+        if (methodMeters == null) {
+            methodMeters = typeMeters.computeIfAbsent(method, key -> register(type, key));
+        }
+        return methodMeters;
+    }
+
+    private MethodMeters register(Class<?> type, Method method) {
+        timedMethods.incrementAndGet();
+        String className = className(type);
+        return new MethodMeters(
+            Counter.builder(CALLS_METER_NAME)
+                .description(CALLS_DESCRIPTION)
+                .tags(CLASS_TAG, className, METHOD_TAG, method.getName())
+                .register(meterRegistry),
+            Timer.builder(METER_NAME)
+                .description(DESCRIPTION)
+                .tags(CLASS_TAG, className, METHOD_TAG, method.getName())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MINIMUM_EXPECTED_VALUE)
+                .maximumExpectedValue(MAXIMUM_EXPECTED_VALUE)
+                .register(meterRegistry)
+        );
+    }
+
+    /**
+     * The name of the proxied class, or of the first interface of JDK proxies, which is the repository interface for
+     * Spring Data repositories.
+     */
+    private static String className(Class<?> type) {
+        if (Proxy.isProxyClass(type) && type.getInterfaces().length > 0) {
+            return type.getInterfaces()[0].getSimpleName();
+        }
+        return ClassUtils.getUserClass(type).getSimpleName();
+    }
+
+    private record MethodMeters(Counter calls, Timer timer) {}
+}
@@ -0,0 +1,4 @@
+/**
+ * Timing aspect.
+ */
+package io.github.jhipster.sample.aop.timing;
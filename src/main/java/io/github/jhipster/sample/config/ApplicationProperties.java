@@ -1,6 +1,8 @@
 package io.github.jhipster.sample.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.logging.LogLevel;
 
 /**
  * Properties specific to Jhipster Sample Application.
@@ -13,12 +15,54 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Security security = new Security();
+
+    private final Cache cache = new Cache();
+
+    private final Async async = new Async();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final UserCleanup userCleanup = new UserCleanup();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final Logging logging = new Logging();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public UserCleanup getUserCleanup() {
+        return userCleanup;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -34,5 +78,565 @@ public class ApplicationProperties {
         }
     }
 
+    public static class Security {
+
+        /**
+         * Cache of verified JWTs, used to skip signature verification of tokens presented again.
+         */
+        private final CacheRegion jwtCache = new CacheRegion(10000, 3600);
+
+        /**
+         * Cache of logins and emails not belonging to any user, used to reject them without querying the database.
+         */
+        private final CacheRegion unknownUsersCache = new CacheRegion(10000, 60);
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        private final TokenRevocation tokenRevocation = new TokenRevocation();
+
+        private final RateLimit rateLimit = new RateLimit();
+
+        public CacheRegion getJwtCache() {
+            return jwtCache;
+        }
+
+        public CacheRegion getUnknownUsersCache() {
+            return unknownUsersCache;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public TokenRevocation getTokenRevocation() {
+            return tokenRevocation;
+        }
+
+        public RateLimit getRateLimit() {
+            return rateLimit;
+        }
+
+        public static class PasswordHashing {
+
+            /**
+             * Number of threads hashing and verifying passwords, 0 to use one per available processor.
+             */
+            private int threads = 0;
+
+            /**
+             * Number of password hashes and verifications waiting for a thread before new ones are rejected.
+             */
+            private int queueCapacity = 100;
+
+            /**
+             * Target password verification time the BCrypt cost is calibrated to at startup, the minimum cost is used when not set or 0.
+             */
+            private Duration targetTime;
+
+            /**
+             * Lowest BCrypt cost, whatever the calibration.
+             */
+            private int minCost = 10;
+
+            /**
+             * Highest BCrypt cost, whatever the calibration.
+             */
+            private int maxCost = 16;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public Duration getTargetTime() {
+                return targetTime;
+            }
+
+            public void setTargetTime(Duration targetTime) {
+                this.targetTime = targetTime;
+            }
+
+            public int getMinCost() {
+                return minCost;
+            }
+
+            public void setMinCost(int minCost) {
+                this.minCost = minCost;
+            }
+
+            public int getMaxCost() {
+                return maxCost;
+            }
+
+            public void setMaxCost(int maxCost) {
+                this.maxCost = maxCost;
+            }
+        }
+
+        public static class TokenRevocation {
+
+            /**
+             * Number of unexpired revoked tokens the Bloom filter is sized for, it grows past it when rebuilt.
+             */
+            private int expectedRevocations = 10000;
+
+            /**
+             * Target rate of lookups answered by the exact set rather than by the Bloom filter alone.
+             */
+            private double falsePositiveProbability = 0.01;
+
+            /**
+             * Interval between reloads of the revoked tokens from the database, which also prune the expired ones.
+             */
+            private Duration refreshInterval = Duration.ofMinutes(1);
+
+            public int getExpectedRevocations() {
+                return expectedRevocations;
+            }
+
+            public void setExpectedRevocations(int expectedRevocations) {
+                this.expectedRevocations = expectedRevocations;
+            }
+
+            public double getFalsePositiveProbability() {
+                return falsePositiveProbability;
+            }
+
+            public void setFalsePositiveProbability(double falsePositiveProbability) {
+                this.falsePositiveProbability = falsePositiveProbability;
+            }
+
+            public Duration getRefreshInterval() {
+                return refreshInterval;
+            }
+
+            public void setRefreshInterval(Duration refreshInterval) {
+                this.refreshInterval = refreshInterval;
+            }
+        }
+
+        public static class RateLimit {
+
+            private boolean enabled = true;
+
+            /**
+             * Requests allowed per login (or email), on each rate-limited endpoint.
+             */
+            private final Limit perLogin = new Limit(10, Duration.ofMinutes(1));
+
+            /**
+             * Requests allowed per client IP address, on each rate-limited endpoint.
+             */
+            private final Limit perIp = new Limit(100, Duration.ofMinutes(1));
+
+            /**
+             * Number of logins and IP addresses tracked at once, idle ones are evicted first.
+             */
+            private int maxTrackedKeys = 100000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public Limit getPerLogin() {
+                return perLogin;
+            }
+
+            public Limit getPerIp() {
+                return perIp;
+            }
+
+            public int getMaxTrackedKeys() {
+                return maxTrackedKeys;
+            }
+
+            public void setMaxTrackedKeys(int maxTrackedKeys) {
+                this.maxTrackedKeys = maxTrackedKeys;
+            }
+
+            public static class Limit {
+
+                /**
+                 * Requests allowed in a burst, the bucket refills at this many requests per period.
+                 */
+                private int capacity;
+
+                private Duration period;
+
+                public Limit(int capacity, Duration period) {
+                    this.capacity = capacity;
+                    this.period = period;
+                }
+
+                public int getCapacity() {
+                    return capacity;
+                }
+
+                public void setCapacity(int capacity) {
+                    this.capacity = capacity;
+                }
+
+                public Duration getPeriod() {
+                    return period;
+                }
+
+                public void setPeriod(Duration period) {
+                    this.period = period;
+                }
+            }
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Cache of serialized reference-data responses, see {@code ResponseCacheFilter}.
+         */
+        private final CacheRegion httpResponses = new CacheRegion(100, 60);
+
+        private final Inspection inspection = new Inspection();
+
+        public CacheRegion getHttpResponses() {
+            return httpResponses;
+        }
+
+        public Inspection getInspection() {
+            return inspection;
+        }
+
+        public static class Inspection {
+
+            /**
+             * Number of entries sampled in each region to estimate its heap size.
+             */
+            private int sampleSize = 100;
+
+            /**
+             * Maximum number of objects walked to estimate the size of a sampled key or value.
+             */
+            private int maxObjectsPerEntry = 10000;
+
+            public int getSampleSize() {
+                return sampleSize;
+            }
+
+            public void setSampleSize(int sampleSize) {
+                this.sampleSize = sampleSize;
+            }
+
+            public int getMaxObjectsPerEntry() {
+                return maxObjectsPerEntry;
+            }
+
+            public void setMaxObjectsPerEntry(int maxObjectsPerEntry) {
+                this.maxObjectsPerEntry = maxObjectsPerEntry;
+            }
+        }
+    }
+
+    public static class Async {
+
+        /**
+         * Executor rendering the mails of each outbox batch in parallel, see {@code MailOutboxDispatcher}. Its rejection policy
+         * cannot be {@code discard}: the dispatcher waits for every task it submits.
+         */
+        private final Bulkhead mail = new Bulkhead(4, 1000, BulkheadTaskExecutor.RejectionPolicy.CALLER_RUNS);
+
+        public Bulkhead getMail() {
+            return mail;
+        }
+
+        public static class Bulkhead {
+
+            /**
+             * Number of threads, started before any task is queued and stopped once idle.
+             */
+            private int maxSize;
+
+            /**
+             * Number of tasks waiting for a thread before new ones are rejected, on platform or virtual threads.
+             */
+            private int queueCapacity;
+
+            /**
+             * What happens to tasks submitted once every thread is busy and the queue is full.
+             */
+            private BulkheadTaskExecutor.RejectionPolicy rejectionPolicy;
+
+            public Bulkhead(int maxSize, int queueCapacity, BulkheadTaskExecutor.RejectionPolicy rejectionPolicy) {
+                this.maxSize = maxSize;
+                this.queueCapacity = queueCapacity;
+                this.rejectionPolicy = rejectionPolicy;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public BulkheadTaskExecutor.RejectionPolicy getRejectionPolicy() {
+                return rejectionPolicy;
+            }
+
+            public void setRejectionPolicy(BulkheadTaskExecutor.RejectionPolicy rejectionPolicy) {
+                this.rejectionPolicy = rejectionPolicy;
+            }
+        }
+    }
+
+    public static class MailOutbox {
+
+        /**
+         * Delay between two runs of the dispatcher, each one sends every mail due.
+         */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /**
+         * Number of mails sent over one SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Number of attempts to send a mail before it is left in the outbox.
+         */
+        private int maxAttempts = 8;
+
+        /**
+         * Delay before the second attempt, doubled after each failed attempt.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        /**
+         * Longest delay between two attempts.
+         */
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        /**
+         * How long a claimed mail is left to its dispatcher before another attempt, if the dispatcher stops while sending it.
+         */
+        private Duration claimTimeout = Duration.ofMinutes(5);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getClaimTimeout() {
+            return claimTimeout;
+        }
+
+        public void setClaimTimeout(Duration claimTimeout) {
+            this.claimTimeout = claimTimeout;
+        }
+    }
+
+    public static class CacheRegion {
+
+        private boolean enabled = true;
+
+        private long maxEntries;
+
+        private long timeToLiveSeconds;
+
+        public CacheRegion(long maxEntries, long timeToLiveSeconds) {
+            this.maxEntries = maxEntries;
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
+
+    public static class UserCleanup {
+
+        /**
+         * Number of not activated users deleted in one transaction.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class MethodTiming {
+
+        /**
+         * Whether calls are timed when the application starts, can be switched at runtime with the methodtiming endpoint.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Share of the calls timed, between 0 and 1. Every call is still counted in {@code method.calls}.
+         */
+        private double sampleRate = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    public static class Logging {
+
+        private final AsyncAppender async = new AsyncAppender();
+
+        public AsyncAppender getAsync() {
+            return async;
+        }
+
+        public static class AsyncAppender {
+
+            /**
+             * Whether the console appender, plain or JSON, is fed through a ring buffer drained on a background thread.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Events the ring buffer holds, rounded up to a power of two.
+             */
+            private int ringBufferSize = 8192;
+
+            /**
+             * When the ring buffer is full, events at this level or below are dropped, more severe ones wait for room.
+             */
+            private LogLevel discardLevel = LogLevel.INFO;
+
+            /**
+             * Longest wait for the pending events to be written when the appender stops.
+             */
+            private Duration maxFlushTime = Duration.ofSeconds(1);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getRingBufferSize() {
+                return ringBufferSize;
+            }
+
+            public void setRingBufferSize(int ringBufferSize) {
+                this.ringBufferSize = ringBufferSize;
+            }
+
+            public LogLevel getDiscardLevel() {
+                return discardLevel;
+            }
+
+            public void setDiscardLevel(LogLevel discardLevel) {
+                this.discardLevel = discardLevel;
+            }
+
+            public Duration getMaxFlushTime() {
+                return maxFlushTime;
+            }
+
+            public void setMaxFlushTime(Duration maxFlushTime) {
+                this.maxFlushTime = maxFlushTime;
+            }
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
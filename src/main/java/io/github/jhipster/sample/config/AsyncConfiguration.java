@@ -1,20 +1,40 @@
 package io.github.jhipster.sample.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
 
+/**
+ * Runs {@code @Async} methods, scheduled tasks and the work handed to the named executors.
+ * <p>
+ * {@code @Async} methods run on the default {@code taskExecutor}, sized by {@code spring.task.execution.pool}. Work
+ * needing its own bound runs on a named {@link BulkheadTaskExecutor}, sized by {@code application.async}, so that a
+ * backlog of one kind of task cannot delay the others: the {@code mailExecutor} renders the mails of the outbox
+ * batches in parallel, see {@code MailOutboxDispatcher}. Each executor starts threads up to its maximum size before
+ * queueing tasks, and stops them once idle.
+ * <p>
+ * With {@code spring.threads.virtual.enabled} (see the {@code virtual-threads} profile), the executors run their tasks
+ * on virtual threads, at most their maximum size at once so that they cannot take all the database connections or
+ * processors; Spring Boot then also serves requests and runs scheduled tasks on virtual threads. Otherwise they run on
+ * platform threads. Either way, the executors queue and reject tasks alike, callers never wait for a thread, and tasks
+ * run with the security context of the caller.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
@@ -23,26 +43,81 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private static final Logger LOG = LoggerFactory.getLogger(AsyncConfiguration.class);
 
+    private static final TaskDecorator SECURITY_CONTEXT_PROPAGATION = DelegatingSecurityContextRunnable::new;
+
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Environment environment;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        Environment environment
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
-        LOG.debug("Creating Async Task Executor");
-        var executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
-        executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
-        executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
-        executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
-        return new ExceptionHandlingAsyncTaskExecutor(executor);
+        TaskExecutionProperties.Pool pool = taskExecutionProperties.getPool();
+        return bulkhead(
+            "taskExecutor",
+            taskExecutionProperties.getThreadNamePrefix(),
+            pool.getMaxSize(),
+            pool.getQueueCapacity(),
+            BulkheadTaskExecutor.RejectionPolicy.ABORT
+        );
+    }
+
+    @Bean(name = "mailExecutor")
+    public Executor mailExecutor() {
+        ApplicationProperties.Async.Bulkhead mail = applicationProperties.getAsync().getMail();
+        if (mail.getRejectionPolicy() == BulkheadTaskExecutor.RejectionPolicy.DISCARD) {
+            // The dispatcher waits for every chunk of mails it renders, a discarded chunk would never complete
+            throw new IllegalStateException("application.async.mail.rejection-policy cannot be discard, use caller-runs or abort");
+        }
+        return bulkhead(
+            "mailExecutor",
+            taskExecutionProperties.getThreadNamePrefix() + "mail-",
+            mail.getMaxSize(),
+            mail.getQueueCapacity(),
+            mail.getRejectionPolicy()
+        );
     }
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
+
+    private Executor bulkhead(
+        String name,
+        String threadNamePrefix,
+        int maxSize,
+        int queueCapacity,
+        BulkheadTaskExecutor.RejectionPolicy rejectionPolicy
+    ) {
+        boolean virtualThreads = Threading.VIRTUAL.isActive(environment);
+        LOG.debug("Creating Async Task Executor '{}'{}", name, virtualThreads ? " on virtual threads" : "");
+        var delegate = new ThreadPoolTaskExecutor();
+        // Threads up to the maximum size are started before tasks are queued, instead of once the queue is full
+        delegate.setCorePoolSize(maxSize);
+        delegate.setMaxPoolSize(maxSize);
+        delegate.setAllowCoreThreadTimeOut(true);
+        delegate.setQueueCapacity(queueCapacity);
+        delegate.setThreadNamePrefix(threadNamePrefix);
+        // Virtual threads are pooled too, so that a saturated executor queues then rejects tasks instead of blocking callers
+        delegate.setVirtualThreads(virtualThreads);
+        delegate.setTaskDecorator(SECURITY_CONTEXT_PROPAGATION);
+        return new ExceptionHandlingAsyncTaskExecutor(new BulkheadTaskExecutor(name, delegate, rejectionPolicy, meterRegistry));
+    }
 }
@@ -0,0 +1,290 @@
+package io.github.jhipster.sample.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appender handing the events over to the attached appenders on a background thread, through a bounded lock-free ring
+ * buffer, so that logging threads do not wait for a slow output such as a container's stdout pipe.
+ * <p>
+ * When the buffer is full, events at the discard level or below are dropped, more severe ones wait for room. The events
+ * enqueued and dropped are counted in the {@link Counters}, shared by the appenders created over logback resets.
+ * Pending events are flushed when the appender stops, for at most the max flush time.
+ */
+public class AsyncRingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long FULL_BUFFER_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private final Counters counters;
+
+    private int ringBufferSize = 8192;
+
+    private Level discardLevel = Level.INFO;
+
+    private Duration maxFlushTime = Duration.ofSeconds(1);
+
+    private RingBuffer ringBuffer;
+
+    private Thread worker;
+
+    private volatile boolean idle;
+
+    public AsyncRingBufferAppender(Counters counters) {
+        this.counters = counters;
+    }
+
+    public void setRingBufferSize(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+
+    public void setDiscardLevel(Level discardLevel) {
+        this.discardLevel = discardLevel;
+    }
+
+    public void setMaxFlushTime(Duration maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (ringBufferSize < 1) {
+            addError("Invalid ring buffer size " + ringBufferSize);
+            return;
+        }
+        ringBuffer = new RingBuffer(ringBufferSize);
+        super.start();
+        worker = Thread.ofPlatform().daemon().name("logback-" + getName()).start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(worker);
+        try {
+            worker.join(maxFlushTime.toMillis());
+            if (worker.isAlive()) {
+                addWarn("Events still pending after " + maxFlushTime + ", some were lost");
+                worker.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Formatted message, thread name and MDC, while still on the logging thread
+        event.prepareForDeferredProcessing();
+        boolean discardable = event.getLevel().toInt() <= discardLevel.toInt();
+        while (!ringBuffer.offer(event)) {
+            if (discardable || !isStarted()) {
+                counters.dropped(event.getLevel());
+                return;
+            }
+            LockSupport.parkNanos(FULL_BUFFER_WAIT_NANOS);
+        }
+        counters.enqueued();
+        if (idle) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            ILoggingEvent event = ringBuffer.poll();
+            if (event != null) {
+                appenders.appendLoopOnAppenders(event);
+            } else if (!isStarted() || Thread.currentThread().isInterrupted()) {
+                return;
+            } else {
+                idle = true;
+                // Checked again, an event may have been enqueued before idle was set
+                if (ringBuffer.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+
+    /**
+     * Bounded multi-producer ring buffer, each slot carrying the sequence it is ready for: a producer claims the next
+     * slot with a compare-and-set on the tail, the single consumer frees it for the producer one lap later.
+     */
+    static final class RingBuffer {
+
+        private final int mask;
+
+        private final AtomicReferenceArray<ILoggingEvent> events;
+
+        private final AtomicLongArray sequences;
+
+        private final AtomicLong tail = new AtomicLong();
+
+        private long head;
+
+        RingBuffer(int minCapacity) {
+            int capacity = Integer.highestOneBit(minCapacity) == minCapacity ? minCapacity : Integer.highestOneBit(minCapacity) << 1;
+            mask = capacity - 1;
+            events = new AtomicReferenceArray<>(capacity);
+            sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(ILoggingEvent event) {
+            while (true) {
+                long position = tail.get();
+                int index = (int) position & mask;
+                long available = sequences.get(index) - position;
+                if (available < 0) {
+                    return false;
+                }
+                if (available == 0 && tail.compareAndSet(position, position + 1)) {
+                    events.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            }
+        }
+
+        ILoggingEvent poll() {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                return null;
+            }
+            ILoggingEvent event = events.get(index);
+            events.lazySet(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            return event;
+        }
+
+        boolean isEmpty() {
+            return sequences.get((int) head & mask) != head + 1;
+        }
+    }
+
+    /**
+     * Events enqueued and dropped, in the {@code logging.async.events} counter tagged by outcome, and by level for
+     * dropped events.
+     */
+    public static final class Counters implements MeterBinder {
+
+        public static final String METER_NAME = "logging.async.events";
+
+        private static final Level[] LEVELS = { Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR };
+
+        private final LongAdder enqueued = new LongAdder();
+
+        private final LongAdder[] dropped = new LongAdder[LEVELS.length];
+
+        public Counters() {
+            for (int i = 0; i < LEVELS.length; i++) {
+                dropped[i] = new LongAdder();
+            }
+        }
+
+        public long getEnqueued() {
+            return enqueued.sum();
+        }
+
+        public long getDropped(Level level) {
+            return dropped[index(level)].sum();
+        }
+
+        void enqueued() {
+            enqueued.increment();
+        }
+
+        void dropped(Level level) {
+            dropped[index(level)].increment();
+        }
+
+        @Override
+        public void bindTo(MeterRegistry registry) {
+            FunctionCounter.builder(METER_NAME, enqueued, LongAdder::sum)
+                .description("Log events handed over to the asynchronous appenders")
+                .tag("outcome", "enqueued")
+                .register(registry);
+            for (int i = 0; i < LEVELS.length; i++) {
+                FunctionCounter.builder(METER_NAME, dropped[i], LongAdder::sum)
+                    .description("Log events dropped by the asynchronous appenders, their buffer being full")
+                    .tags("outcome", "dropped", "level", LEVELS[i].levelStr.toLowerCase(Locale.ROOT))
+                    .register(registry);
+            }
+        }
+
+        private static int index(Level level) {
+            for (int i = LEVELS.length - 1; i > 0; i--) {
+                if (level.toInt() >= LEVELS[i].toInt()) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.jhipster.sample.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Named executor isolating one kind of work from the others, injected by name or selected with {@code @Async("<name>")}.
+ * <p>
+ * It runs tasks on its own delegate, sized independently, so that a backlog of one kind of task (the rendering of a
+ * large batch of mails, for instance) cannot delay the others. Tasks the delegate rejects, once its threads are busy and
+ * its queue full, are handled according to a {@link RejectionPolicy}. The executor publishes, tagged with its name,
+ * the {@code executor.active}, {@code executor.queued}, {@code executor.completed} and {@code executor.rejected}
+ * meters, and the {@code executor.queue.wait} timer measuring how long tasks wait before starting.
+ */
+public class BulkheadTaskExecutor implements AsyncTaskExecutor, InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkheadTaskExecutor.class);
+
+    private final String name;
+
+    private final AsyncTaskExecutor delegate;
+
+    private final RejectionPolicy rejectionPolicy;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    private final Counter rejected;
+
+    private final Timer queueWait;
+
+    public BulkheadTaskExecutor(String name, AsyncTaskExecutor delegate, RejectionPolicy rejectionPolicy, MeterRegistry registry) {
+        this.name = name;
+        this.delegate = delegate;
+        this.rejectionPolicy = rejectionPolicy;
+        Gauge.builder("executor.active", active, AtomicInteger::get)
+            .tag("name", name)
+            .description("The approximate number of threads that are actively executing tasks")
+            .baseUnit("threads")
+            .register(registry);
+        Gauge.builder("executor.queued", queued, AtomicInteger::get)
+            .tag("name", name)
+            .description("The approximate number of tasks that are queued for execution")
+            .baseUnit("tasks")
+            .register(registry);
+        FunctionCounter.builder("executor.completed", completed, AtomicLong::get)
+            .tag("name", name)
+            .description("The approximate total number of tasks that have completed execution")
+            .baseUnit("tasks")
+            .register(registry);
+        this.rejected = Counter.builder("executor.rejected")
+            .tag("name", name)
+            .description("The number of tasks rejected because every thread was busy and the queue full")
+            .baseUnit("tasks")
+            .register(registry);
+        this.queueWait = Timer.builder("executor.queue.wait")
+            .tag("name", name)
+            .description("Time tasks waited between their submission and the start of their execution")
+            .register(registry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queued.incrementAndGet();
+        try {
+            delegate.execute(new MeteredTask(task, System.nanoTime()));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            rejected.increment();
+            switch (rejectionPolicy) {
+                case ABORT -> throw e;
+                case CALLER_RUNS -> task.run();
+                case DISCARD -> LOG.warn("Executor '{}' is saturated, task discarded", name);
+            }
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (delegate instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (delegate instanceof DisposableBean disposableBean) {
+            disposableBean.destroy();
+        } else if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * What happens to a task submitted while every thread is busy and the queue is full.
+     */
+    public enum RejectionPolicy {
+        /**
+         * A {@link org.springframework.core.task.TaskRejectedException} is thrown to the caller.
+         */
+        ABORT,
+        /**
+         * The task runs on the calling thread, which slows the caller down instead of losing the task.
+         */
+        CALLER_RUNS,
+        /**
+         * The task is dropped with a warning. Not for tasks whose completion is awaited, which would wait forever.
+         */
+        DISCARD,
+    }
+
+    private final class MeteredTask implements Runnable {
+
+        private final Runnable task;
+
+        private final long submittedAt;
+
+        private MeteredTask(Runnable task, long submittedAt) {
+            this.task = task;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public void run() {
+            queued.decrementAndGet();
+            active.incrementAndGet();
+            queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        }
+    }
+}
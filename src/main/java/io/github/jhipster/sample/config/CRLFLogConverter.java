@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 import org.springframework.boot.ansi.AnsiColor;
@@ -29,6 +30,12 @@ public class CRLFLogConverter extends CompositeConverter<ILoggingEvent> {
         "org.springframework.boot.autoconfigure",
         "org.springframework.boot.diagnostics",
     };
+
+    /**
+     * Bound on the cached logger safety decisions, logger names being fixed by the code.
+     */
+    private static final int MAX_CACHED_LOGGERS = 10_000;
+
     private static final Map<String, AnsiElement> ELEMENTS;
 
     static {
@@ -43,20 +50,60 @@ public class CRLFLogConverter extends CompositeConverter<ILoggingEvent> {
         ELEMENTS = Collections.unmodifiableMap(ansiElements);
     }
 
+    private final Map<String, Boolean> safeLoggers = new ConcurrentHashMap<>();
+
     @Override
     protected String transform(ILoggingEvent event, String in) {
-        AnsiElement element = ELEMENTS.get(getFirstOption());
         List<Marker> markers = event.getMarkerList();
         if ((markers != null && !markers.isEmpty() && markers.get(0).contains(CRLF_SAFE_MARKER)) || isLoggerSafe(event)) {
             return in;
         }
+        return sanitize(in);
+    }
+
+    /**
+     * Replaces CRLF and tab characters in a single pass, returning the input itself when it has none.
+     */
+    private String sanitize(String in) {
+        int length = in.length();
+        int from = 0;
+        while (from < length && !isUnsafe(in.charAt(from))) {
+            from++;
+        }
+        if (from == length) {
+            return in;
+        }
+        AnsiElement element = ELEMENTS.get(getFirstOption());
         String replacement = element == null ? "_" : toAnsiString("_", element);
-        return in.replaceAll("[\n\r\t]", replacement);
+        StringBuilder out = new StringBuilder(length + 16).append(in, 0, from);
+        for (int i = from; i < length; i++) {
+            if (isUnsafe(in.charAt(i))) {
+                out.append(in, from, i).append(replacement);
+                from = i + 1;
+            }
+        }
+        return out.append(in, from, length).toString();
+    }
+
+    private static boolean isUnsafe(char c) {
+        return c == '\n' || c == '\r' || c == '\t';
     }
 
     protected boolean isLoggerSafe(ILoggingEvent event) {
+        String loggerName = event.getLoggerName();
+        Boolean safe = safeLoggers.get(loggerName);
+        if (safe == null) {
+            safe = isSafeLoggerName(loggerName);
+            if (safeLoggers.size() < MAX_CACHED_LOGGERS) {
+                safeLoggers.put(loggerName, safe);
+            }
+        }
+        return safe;
+    }
+
+    private static boolean isSafeLoggerName(String loggerName) {
         for (String safeLogger : SAFE_LOGS) {
-            if (event.getLoggerName().startsWith(safeLogger)) {
+            if (loggerName.startsWith(safeLogger)) {
                 return true;
             }
         }
@@ -1,23 +1,43 @@
 package io.github.jhipster.sample.config;
 
+import io.github.jhipster.sample.security.CachingJwtDecoder;
+import io.github.jhipster.sample.web.filter.ResponseCacheFilter;
 import java.time.Duration;
 import org.ehcache.config.builders.*;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.cache.autoconfigure.JCacheManagerCustomizer;
 import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheResolver;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.Jwt;
 import tech.jhipster.config.JHipsterProperties;
 
 @Configuration
 @EnableCaching
-public class CacheConfiguration {
+public class CacheConfiguration implements CachingConfigurer {
 
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    private final ApplicationProperties.CacheRegion jwtCache;
+
+    private final ApplicationProperties.CacheRegion unknownUsersCache;
+
+    private final ApplicationProperties.CacheRegion httpResponsesCache;
+
+    public CacheConfiguration(
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<CacheManager> cacheManager
+    ) {
         var ehcache = jHipsterProperties.getCache().getEhcache();
 
         jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
@@ -29,6 +49,19 @@ public class CacheConfiguration {
                 .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                 .build()
         );
+        jwtCache = applicationProperties.getSecurity().getJwtCache();
+        unknownUsersCache = applicationProperties.getSecurity().getUnknownUsersCache();
+        httpResponsesCache = applicationProperties.getCache().getHttpResponses();
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Resolves the caches of {@code @Cacheable(sync = true)} methods to {@link SingleFlightCache}s,
+     * sharing concurrent loads of the same key.
+     */
+    @Override
+    public CacheResolver cacheResolver() {
+        return new SimpleCacheResolver(new SingleFlightCacheManager(cacheManager.getObject()));
     }
 
     @Bean
@@ -51,15 +84,60 @@ public class CacheConfiguration {
             createCache(cm, io.github.jhipster.sample.domain.Operation.class.getName());
             createCache(cm, io.github.jhipster.sample.domain.Operation.class.getName() + ".labels");
             // jhipster-needle-ehcache-add-entry
+            if (unknownUsersCache.isEnabled()) {
+                createCache(
+                    cm,
+                    io.github.jhipster.sample.repository.UserRepository.UNKNOWN_USERS_CACHE,
+                    regionConfiguration(unknownUsersCache)
+                );
+            }
+            if (httpResponsesCache.isEnabled()) {
+                createCache(cm, ResponseCacheFilter.RESPONSES_CACHE, regionConfiguration(httpResponsesCache));
+            }
+            if (jwtCache.isEnabled()) {
+                createCache(cm, CachingJwtDecoder.VERIFIED_JWTS_CACHE, verifiedJwtsConfiguration());
+            }
         };
     }
 
+    private javax.cache.configuration.Configuration<Object, Object> regionConfiguration(ApplicationProperties.CacheRegion region) {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                Object.class,
+                Object.class,
+                ResourcePoolsBuilder.heap(region.getMaxEntries())
+            )
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(region.getTimeToLiveSeconds())))
+                .build()
+        );
+    }
+
+    private javax.cache.configuration.Configuration<String, Jwt> verifiedJwtsConfiguration() {
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                String.class,
+                Jwt.class,
+                ResourcePoolsBuilder.heap(jwtCache.getMaxEntries())
+            )
+                .withExpiry(new CachingJwtDecoder.TokenExpiry(Duration.ofSeconds(jwtCache.getTimeToLiveSeconds())))
+                .build()
+        );
+    }
+
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private <K, V> void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<K, V> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
     }
 }
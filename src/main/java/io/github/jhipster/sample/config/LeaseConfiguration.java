@@ -0,0 +1,16 @@
+package io.github.jhipster.sample.config;
+
+import io.github.jhipster.sample.management.LeaseMetersService;
+import io.github.jhipster.sample.service.lease.LeaseAspect;
+import io.github.jhipster.sample.service.lease.LeaseService;
+import org.springframework.context.annotation.*;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class LeaseConfiguration {
+
+    @Bean
+    public LeaseAspect leaseAspect(LeaseService leaseService, LeaseMetersService leaseMetersService) {
+        return new LeaseAspect(leaseService, leaseMetersService);
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.jhipster.sample.config;
 
+import io.github.jhipster.sample.management.LiquibaseMigrationHealthIndicator;
 import java.util.concurrent.Executor;
 import javax.sql.DataSource;
 import liquibase.integration.spring.SpringLiquibase;
@@ -8,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.liquibase.autoconfigure.DataSourceClosingSpringLiquibase;
 import org.springframework.boot.liquibase.autoconfigure.LiquibaseDataSource;
 import org.springframework.boot.liquibase.autoconfigure.LiquibaseProperties;
 import org.springframework.context.annotation.Bean;
@@ -36,18 +38,22 @@ public class LiquibaseConfiguration {
         @LiquibaseDataSource ObjectProvider<DataSource> liquibaseDataSource,
         ObjectProvider<DataSource> dataSource,
         ApplicationProperties applicationProperties,
-        DataSourceProperties dataSourceProperties
+        DataSourceProperties dataSourceProperties,
+        LiquibaseMigrationHealthIndicator migrationHealthIndicator
     ) {
         SpringLiquibase liquibase;
         if (Boolean.TRUE.equals(applicationProperties.getLiquibase().getAsyncStart())) {
-            liquibase = SpringLiquibaseUtil.createAsyncSpringLiquibase(
-                this.env,
-                executor,
+            // Same data source as SpringLiquibaseUtil#createAsyncSpringLiquibase, closed once migrated if created for Liquibase only
+            SpringLiquibase configured = SpringLiquibaseUtil.createSpringLiquibase(
                 liquibaseDataSource.getIfAvailable(),
                 liquibaseProperties,
                 dataSource.getIfUnique(),
                 dataSourceProperties
             );
+            var asyncLiquibase = new TrackedAsyncSpringLiquibase(executor, this.env, migrationHealthIndicator);
+            asyncLiquibase.setCloseDataSourceOnceMigrated(configured instanceof DataSourceClosingSpringLiquibase);
+            asyncLiquibase.setDataSource(configured.getDataSource());
+            liquibase = asyncLiquibase;
         } else {
             liquibase = SpringLiquibaseUtil.createSpringLiquibase(
                 liquibaseDataSource.getIfAvailable(),
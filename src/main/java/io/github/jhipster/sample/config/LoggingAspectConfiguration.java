@@ -1,6 +1,8 @@
 package io.github.jhipster.sample.config;
 
 import io.github.jhipster.sample.aop.logging.LoggingAspect;
+import io.github.jhipster.sample.aop.timing.TimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -14,4 +16,11 @@ public class LoggingAspectConfiguration {
     public LoggingAspect loggingAspect(Environment env) {
         return new LoggingAspect(env);
     }
+
+    @Bean
+    @Profile(JHipsterConstants.SPRING_PROFILE_PRODUCTION)
+    public TimingAspect timingAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        var methodTiming = applicationProperties.getMethodTiming();
+        return new TimingAspect(meterRegistry, methodTiming.isEnabled(), methodTiming.getSampleRate());
+    }
 }
@@ -2,11 +2,17 @@ package io.github.jhipster.sample.config;
 
 import static tech.jhipster.config.logging.LoggingUtils.*;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.spi.ConfigurationEvent;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import tech.jhipster.config.JHipsterProperties;
 import tools.jackson.core.JacksonException;
@@ -18,10 +24,17 @@ import tools.jackson.databind.ObjectMapper;
 @Configuration
 public class LoggingConfiguration {
 
+    private static final String CONSOLE_APPENDER_NAME = "CONSOLE";
+
+    private static final String ASYNC_CONSOLE_APPENDER_NAME = "ASYNC_CONSOLE";
+
+    private final AsyncRingBufferAppender.Counters asyncAppenderCounters = new AsyncRingBufferAppender.Counters();
+
     public LoggingConfiguration(
         @Value("${spring.application.name}") String appName,
         @Value("${server.port}") String serverPort,
         JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
         ObjectMapper mapper
     ) throws JacksonException {
         LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
@@ -33,6 +46,7 @@ public class LoggingConfiguration {
 
         var loggingProperties = jHipsterProperties.getLogging();
         var logstashProperties = loggingProperties.getLogstash();
+        var asyncProperties = applicationProperties.getLogging().getAsync();
 
         if (loggingProperties.isUseJsonFormat()) {
             addJsonConsoleAppender(context, customFields);
@@ -43,5 +57,47 @@ public class LoggingConfiguration {
         if (loggingProperties.isUseJsonFormat() || logstashProperties.isEnabled()) {
             addContextListener(context, customFields, loggingProperties);
         }
+        if (asyncProperties.isEnabled()) {
+            addAsyncConsoleAppender(context, asyncProperties);
+            // The configuration file is scanned for changes, the console appender it declares is wrapped again once reloaded
+            context.addConfigurationEventListener(event -> {
+                if (event.getEventType() == ConfigurationEvent.EventType.CONFIGURATION_ENDED_SUCCESSFULLY) {
+                    addAsyncConsoleAppender(context, asyncProperties);
+                }
+            });
+        }
+    }
+
+    /**
+     * Counters of the events enqueued and dropped by the asynchronous console appender.
+     */
+    @Bean
+    public AsyncRingBufferAppender.Counters asyncAppenderCounters() {
+        return asyncAppenderCounters;
+    }
+
+    /**
+     * Replace the console appender, plain or JSON, of the root logger by an {@link AsyncRingBufferAppender} feeding it.
+     */
+    private void addAsyncConsoleAppender(LoggerContext context, ApplicationProperties.Logging.AsyncAppender properties) {
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        Appender<ILoggingEvent> consoleAppender = rootLogger.getAppender(CONSOLE_APPENDER_NAME);
+        if (consoleAppender == null || rootLogger.getAppender(ASYNC_CONSOLE_APPENDER_NAME) != null) {
+            return;
+        }
+        var asyncAppender = new AsyncRingBufferAppender(asyncAppenderCounters);
+        asyncAppender.setContext(context);
+        asyncAppender.setName(ASYNC_CONSOLE_APPENDER_NAME);
+        asyncAppender.setRingBufferSize(properties.getRingBufferSize());
+        asyncAppender.setDiscardLevel(Level.toLevel(properties.getDiscardLevel().name(), Level.ERROR));
+        asyncAppender.setMaxFlushTime(properties.getMaxFlushTime());
+        asyncAppender.addAppender(consoleAppender);
+        asyncAppender.start();
+        if (!asyncAppender.isStarted()) {
+            return;
+        }
+        // Attached before the console appender is detached, so that no event is lost in between
+        rootLogger.addAppender(asyncAppender);
+        rootLogger.detachAppender(consoleAppender);
     }
 }
@@ -2,22 +2,44 @@ package io.github.jhipster.sample.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import io.github.jhipster.sample.management.SecurityMetersService;
 import io.github.jhipster.sample.security.*;
+import io.github.jhipster.sample.security.PathTrieAuthorizationManager.Rule;
+import io.github.jhipster.sample.service.UserService;
+import io.github.jhipster.sample.web.filter.RateLimitFilter;
+import io.github.jhipster.sample.web.filter.ResponseCacheFilter;
+import io.github.jhipster.sample.web.filter.ResponseCacheInvalidator;
 import io.github.jhipster.sample.web.filter.SpaWebFilter;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.SingleResultAuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import tech.jhipster.config.JHipsterConstants;
@@ -31,18 +53,54 @@ public class SecurityConfiguration {
 
     private final JHipsterProperties jHipsterProperties;
 
-    public SecurityConfiguration(Environment env, JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public SecurityConfiguration(
+        Environment env,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<CacheManager> cacheManager
+    ) {
         this.env = env;
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+        this.cacheManager = cacheManager;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(SecurityMetersService metersService) {
+        var passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        int cost = passwordHashing.getTargetTime() != null && passwordHashing.getTargetTime().isPositive()
+            ? BCryptCostCalibrator.calibrate(passwordHashing.getTargetTime(), passwordHashing.getMinCost(), passwordHashing.getMaxCost())
+            : passwordHashing.getMinCost();
+        int threads = passwordHashing.getThreads() > 0 ? passwordHashing.getThreads() : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(cost), threads, passwordHashing.getQueueCapacity(), metersService);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public RehashingAuthenticationProvider authenticationProvider(
+        UserDetailsService userDetailsService,
+        PasswordEncoder passwordEncoder,
+        @Qualifier("taskExecutor") ObjectProvider<Executor> taskExecutor,
+        ObjectProvider<UserService> userService
+    ) {
+        return new RehashingAuthenticationProvider(userDetailsService, passwordEncoder, taskExecutor.getIfAvailable(), () -> {
+            UserService service = userService.getIfAvailable();
+            return service != null ? service::upgradePasswordHash : null;
+        });
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) {
+    public SecurityFilterChain filterChain(
+        HttpSecurity http,
+        SecurityMetersService metersService,
+        ObjectProvider<EntityManagerFactory> entityManagerFactory
+    ) {
+        var authorizationManager = PathTrieAuthorizationManager.of(
+            authorizationRules(env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)))
+        );
         http
             .cors(withDefaults())
             .csrf(csrf -> csrf.disable())
@@ -58,40 +116,73 @@ public class SecurityConfiguration {
                         )
                     )
             )
-            .authorizeHttpRequests(authz ->
-                // prettier-ignore
-                authz
-                    .requestMatchers("/index.html", "/*.js", "/*.txt", "/*.json", "/*.map", "/*.css").permitAll()
-                    .requestMatchers("/*.ico", "/*.png", "/*.svg", "/*.webapp").permitAll()
-                    .requestMatchers("/app/**").permitAll()
-                    .requestMatchers("/i18n/**").permitAll()
-                    .requestMatchers("/content/**").permitAll()
-                    .requestMatchers("/swagger-ui/**").permitAll()
-                    .requestMatchers(HttpMethod.POST, "/api/authenticate").permitAll()
-                    .requestMatchers(HttpMethod.GET, "/api/authenticate").permitAll()
-                    .requestMatchers("/api/register").permitAll()
-                    .requestMatchers("/api/activate").permitAll()
-                    .requestMatchers("/api/account/reset-password/init").permitAll()
-                    .requestMatchers("/api/account/reset-password/finish").permitAll()
-                    .requestMatchers("/api/admin/**").hasAuthority(AuthoritiesConstants.ADMIN)
-                    .requestMatchers("/api/**").authenticated()
-                    .requestMatchers("/v3/api-docs/**").hasAuthority(AuthoritiesConstants.ADMIN)
-                    .requestMatchers("/management/health").permitAll()
-                    .requestMatchers("/management/health/**").permitAll()
-                    .requestMatchers("/management/info").permitAll()
-                    .requestMatchers("/management/prometheus").permitAll()
-                    .requestMatchers("/management/**").hasAuthority(AuthoritiesConstants.ADMIN)
-            )
+            .authorizeHttpRequests(authz -> authz.anyRequest().access(authorizationManager))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .exceptionHandling(exceptions ->
                 exceptions
                     .authenticationEntryPoint(new BearerTokenAuthenticationEntryPoint())
                     .accessDeniedHandler(new BearerTokenAccessDeniedHandler())
             )
-            .oauth2ResourceServer(oauth2 -> oauth2.jwt(withDefaults()));
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
-            http.authorizeHttpRequests(authz -> authz.requestMatchers("/h2-console/**").permitAll());
+            .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(new InternedJwtAuthenticationConverter())));
+        var rateLimit = applicationProperties.getSecurity().getRateLimit();
+        if (rateLimit.isEnabled()) {
+            var rateLimitFilter = new RateLimitFilter(rateLimit, metersService);
+            http.addFilterBefore(rateLimitFilter, BearerTokenAuthenticationFilter.class);
+        }
+        CacheManager responsesCacheManager = cacheManager.getIfAvailable();
+        Cache responsesCache = responsesCacheManager != null ? responsesCacheManager.getCache(ResponseCacheFilter.RESPONSES_CACHE) : null;
+        if (responsesCache != null) {
+            var responseCacheFilter = new ResponseCacheFilter(responsesCache);
+            new ResponseCacheInvalidator(responseCacheFilter).registerOn(entityManagerFactory.getObject());
+            http.addFilterAfter(responseCacheFilter, AuthorizationFilter.class);
         }
         return http.build();
     }
+
+    /**
+     * The authorization rules of the API, first matching rule wins, requests matching no rule are denied.
+     *
+     * @param h2Console whether the H2 console is served.
+     * @return the rules, compiled by {@link PathTrieAuthorizationManager}.
+     */
+    public static List<Rule> authorizationRules(boolean h2Console) {
+        AuthorizationManager<RequestAuthorizationContext> permitAll = SingleResultAuthorizationManager.permitAll();
+        AuthorizationManager<RequestAuthorizationContext> authenticated = AuthenticatedAuthorizationManager.authenticated();
+        AuthorizationManager<RequestAuthorizationContext> admin = AuthorityAuthorizationManager.hasAuthority(AuthoritiesConstants.ADMIN);
+        // prettier-ignore
+        List<Rule> rules = new ArrayList<>(List.of(
+            new Rule("/index.html", permitAll),
+            new Rule("/*.js", permitAll),
+            new Rule("/*.txt", permitAll),
+            new Rule("/*.json", permitAll),
+            new Rule("/*.map", permitAll),
+            new Rule("/*.css", permitAll),
+            new Rule("/*.ico", permitAll),
+            new Rule("/*.png", permitAll),
+            new Rule("/*.svg", permitAll),
+            new Rule("/*.webapp", permitAll),
+            new Rule("/app/**", permitAll),
+            new Rule("/i18n/**", permitAll),
+            new Rule("/content/**", permitAll),
+            new Rule("/swagger-ui/**", permitAll),
+            new Rule(HttpMethod.POST, "/api/authenticate", permitAll),
+            new Rule(HttpMethod.GET, "/api/authenticate", permitAll),
+            new Rule("/api/register", permitAll),
+            new Rule("/api/activate", permitAll),
+            new Rule("/api/account/reset-password/init", permitAll),
+            new Rule("/api/account/reset-password/finish", permitAll),
+            new Rule("/api/admin/**", admin),
+            new Rule("/api/**", authenticated),
+            new Rule("/v3/api-docs/**", admin),
+            new Rule("/management/health", permitAll),
+            new Rule("/management/health/**", permitAll),
+            new Rule("/management/info", permitAll),
+            new Rule("/management/prometheus", permitAll),
+            new Rule("/management/**", admin)
+        ));
+        if (h2Console) {
+            rules.add(new Rule("/h2-console/**", permitAll));
+        }
+        return rules;
+    }
 }
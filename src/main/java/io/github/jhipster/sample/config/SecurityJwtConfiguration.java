@@ -5,49 +5,50 @@ import static io.github.jhipster.sample.security.SecurityUtils.JWT_ALGORITHM;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import io.github.jhipster.sample.management.SecurityMetersService;
+import io.github.jhipster.sample.security.CachingJwtDecoder;
+import io.github.jhipster.sample.security.MeteredJwtDecoder;
+import io.github.jhipster.sample.security.RevocationCheckingJwtDecoder;
+import io.github.jhipster.sample.security.TokenRevocationList;
+import java.time.Clock;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
 @Configuration
 public class SecurityJwtConfiguration {
 
-    private static final Logger LOG = LoggerFactory.getLogger(SecurityJwtConfiguration.class);
-
     @Value("${jhipster.security.authentication.jwt.base64-secret}")
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(
+        SecurityMetersService metersService,
+        ObjectProvider<CacheManager> cacheManager,
+        ObjectProvider<TokenRevocationList> revocationList
+    ) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
-            try {
-                return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (
-                    e.getMessage().contains("Invalid JWT serialization") ||
-                    e.getMessage().contains("Malformed token") ||
-                    e.getMessage().contains("Invalid unsecured/JWS/JWE")
-                ) {
-                    metersService.trackTokenMalformed();
-                } else {
-                    LOG.error("Unknown JWT error {}", e.getMessage());
-                }
-                throw e;
-            }
-        };
+        jwtDecoder.setJwtValidator(MeteredJwtDecoder.withExpiredErrorCode(JwtValidators.createDefault(), Clock.systemUTC()));
+        JwtDecoder decoder = new MeteredJwtDecoder(jwtDecoder, metersService);
+        Cache<String, Jwt> verifiedJwts = getVerifiedJwtsCache(cacheManager.getIfAvailable());
+        if (verifiedJwts != null) {
+            decoder = new CachingJwtDecoder(decoder, verifiedJwts, metersService);
+        }
+        TokenRevocationList tokenRevocationList = revocationList.getIfAvailable();
+        if (tokenRevocationList != null) {
+            decoder = new RevocationCheckingJwtDecoder(decoder, tokenRevocationList, metersService);
+        }
+        return decoder;
     }
 
     @Bean
@@ -55,6 +56,13 @@ public class SecurityJwtConfiguration {
         return new NimbusJwtEncoder(new ImmutableSecret<>(getSecretKey()));
     }
 
+    private Cache<String, Jwt> getVerifiedJwtsCache(CacheManager cacheManager) {
+        if (cacheManager == null) {
+            return null;
+        }
+        return cacheManager.getCache(CachingJwtDecoder.VERIFIED_JWTS_CACHE, String.class, Jwt.class);
+    }
+
     private SecretKey getSecretKey() {
         byte[] keyBytes = Base64.from(jwtKey).decode();
         return new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName());
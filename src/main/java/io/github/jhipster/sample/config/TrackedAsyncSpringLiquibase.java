@@ -0,0 +1,45 @@
+package io.github.jhipster.sample.config;
+
+import io.github.jhipster.sample.management.LiquibaseMigrationHealthIndicator;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import liquibase.exception.LiquibaseException;
+import org.springframework.core.env.Environment;
+import tech.jhipster.config.JHipsterConstants;
+import tech.jhipster.config.liquibase.AsyncSpringLiquibase;
+
+/**
+ * {@link AsyncSpringLiquibase} reporting the progress of the migration to the {@link LiquibaseMigrationHealthIndicator}.
+ */
+class TrackedAsyncSpringLiquibase extends AsyncSpringLiquibase {
+
+    private final Environment env;
+
+    private final LiquibaseMigrationHealthIndicator migration;
+
+    TrackedAsyncSpringLiquibase(Executor executor, Environment env, LiquibaseMigrationHealthIndicator migration) {
+        super(executor, env);
+        this.env = env;
+        this.migration = migration;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        if (shouldRun && !env.matchesProfiles(JHipsterConstants.SPRING_PROFILE_NO_LIQUIBASE)) {
+            migration.started();
+        }
+        super.afterPropertiesSet();
+    }
+
+    @Override
+    protected void initDb() throws LiquibaseException {
+        long start = System.nanoTime();
+        try {
+            super.initDb();
+        } catch (LiquibaseException | RuntimeException e) {
+            migration.failed(e);
+            throw e;
+        }
+        migration.migrated(Duration.ofNanos(System.nanoTime() - start));
+    }
+}
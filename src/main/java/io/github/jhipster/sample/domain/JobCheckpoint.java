@@ -0,0 +1,108 @@
+package io.github.jhipster.sample.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * The progress of a job processing rows by increasing id, committed with each chunk, so that an interrupted run can
+ * be resumed after the last chunk processed.
+ */
+@Entity
+@Table(name = "jhi_job_checkpoint")
+public class JobCheckpoint implements Serializable, Persistable<String> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 50)
+    @Id
+    @Column(name = "name", length = 50, nullable = false)
+    private String name;
+
+    @NotNull
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    private boolean isPersisted;
+
+    public String getName() {
+        return this.name;
+    }
+
+    public JobCheckpoint name(String name) {
+        this.setName(name);
+        return this;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getLastId() {
+        return this.lastId;
+    }
+
+    public JobCheckpoint lastId(Long lastId) {
+        this.setLastId(lastId);
+        return this;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.setIsPersisted();
+    }
+
+    @Override
+    public String getId() {
+        return this.name;
+    }
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    public JobCheckpoint setIsPersisted() {
+        this.isPersisted = true;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JobCheckpoint)) {
+            return false;
+        }
+        return getName() != null && getName().equals(((JobCheckpoint) o).getName());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getName());
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JobCheckpoint{" +
+            "name=" + getName() +
+            ", lastId=" + getLastId() +
+            "}";
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.jhipster.sample.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * The lease of a job, held by one instance until it expires, see {@code LeaseService}.
+ */
+@Entity
+@Table(name = "jhi_job_lease")
+public class JobLease implements Serializable, Persistable<String> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 100)
+    @Id
+    @Column(name = "name", length = 100, nullable = false)
+    private String name;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "owner", length = 255, nullable = false)
+    private String owner;
+
+    /**
+     * Fencing token, incremented by each acquisition.
+     */
+    @NotNull
+    @Column(name = "token", nullable = false)
+    private Long token;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    private boolean isPersisted;
+
+    public String getName() {
+        return this.name;
+    }
+
+    public JobLease name(String name) {
+        this.setName(name);
+        return this;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return this.owner;
+    }
+
+    public JobLease owner(String owner) {
+        this.setOwner(owner);
+        return this;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Long getToken() {
+        return this.token;
+    }
+
+    public JobLease token(Long token) {
+        this.setToken(token);
+        return this;
+    }
+
+    public void setToken(Long token) {
+        this.token = token;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public JobLease expiresAt(Instant expiresAt) {
+        this.setExpiresAt(expiresAt);
+        return this;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    public void updateEntityState() {
+        this.setIsPersisted();
+    }
+
+    @Override
+    public String getId() {
+        return this.name;
+    }
+
+    @org.springframework.data.annotation.Transient
+    @Transient
+    @Override
+    public boolean isNew() {
+        return !this.isPersisted;
+    }
+
+    public JobLease setIsPersisted() {
+        this.isPersisted = true;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JobLease)) {
+            return false;
+        }
+        return getName() != null && getName().equals(((JobLease) o).getName());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getName());
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JobLease{" +
+            "name=" + getName() +
+            ", owner='" + getOwner() + "'" +
+            ", token=" + getToken() +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.jhipster.sample.domain;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A compact, immutable snapshot of the {@link User} fields needed to authenticate and identify a user.
+ * <p>
+ * This is what the {@code usersByLogin} and {@code usersByEmail} caches hold, the {@link User} entities
+ * themselves being cached once in the Hibernate second level cache.
+ *
+ * @param id the id of the user.
+ * @param login the login of the user.
+ * @param password the password hash of the user.
+ * @param activated whether the user is activated.
+ * @param authorities the interned names of the authorities of the user.
+ */
+public record UserPrincipal(Long id, String login, String password, boolean activated, List<String> authorities) implements Serializable {
+    public UserPrincipal {
+        authorities = authorities.stream().map(String::intern).toList();
+    }
+}
@@ -0,0 +1,258 @@
+package io.github.jhipster.sample.management;
+
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint showing what each cache region holds and how much heap it costs.
+ * <p>
+ * Entry counts and deep-size estimates are computed in the background on the {@code taskExecutor}: each run
+ * iterates the regions once, keeps a random sample of entries per region and walks the object graphs of the
+ * sampled keys and values only, each walk being bounded (see {@link ObjectSizeEstimator}). Sampled entry sizes
+ * are also recorded in the {@code cache.entry.size} distribution summary, tagged by region, with the same buckets as
+ * the histogram of the endpoint. Reads never start an estimation.
+ */
+@Component
+@Endpoint(id = "cacheinspection")
+public class CacheInspectionEndpoint {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheInspectionEndpoint.class);
+
+    private static final String ENTRY_SIZE_METER_NAME = "cache.entry.size";
+
+    private static final long FIRST_HISTOGRAM_BUCKET = 64;
+
+    private static final int HISTOGRAM_BUCKETS = 15;
+
+    private static final double[] ENTRY_SIZE_SLOS = entrySizeSlos();
+
+    private final CacheManager cacheManager;
+
+    private final Executor taskExecutor;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int sampleSize;
+
+    private final ObjectSizeEstimator sizeEstimator;
+
+    private final Map<String, RegionEstimate> estimates = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean estimating = new AtomicBoolean();
+
+    public CacheInspectionEndpoint(
+        CacheManager cacheManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.cacheManager = cacheManager;
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+        var inspection = applicationProperties.getCache().getInspection();
+        this.sampleSize = inspection.getSampleSize();
+        this.sizeEstimator = new ObjectSizeEstimator(inspection.getMaxObjectsPerEntry());
+    }
+
+    /**
+     * {@code GET /management/cacheinspection} : the regions with their latest estimates, see {@link #estimate()} to make one.
+     */
+    @ReadOperation
+    public CacheInspection regions() {
+        List<RegionEstimate> regions = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            regions.add(estimates.getOrDefault(name, RegionEstimate.pending(name)));
+        }
+        return new CacheInspection(estimating.get(), regions);
+    }
+
+    /**
+     * {@code GET /management/cacheinspection/:region} : the latest estimate of a region.
+     */
+    @ReadOperation
+    public @Nullable RegionEstimate region(@Selector String region) {
+        if (cacheManager.getCache(region) == null) {
+            return null;
+        }
+        return estimates.getOrDefault(region, RegionEstimate.pending(region));
+    }
+
+    /**
+     * {@code POST /management/cacheinspection} : starts a new estimation of all regions in the background.
+     */
+    @WriteOperation
+    public void estimate() {
+        if (!estimating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(this::estimateRegions);
+        } catch (RuntimeException e) {
+            estimating.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * {@code DELETE /management/cacheinspection/:region[?key=]} : evicts a key, or the whole region when no key is given.
+     * Keys are matched on their {@code toString()} value.
+     */
+    @DeleteOperation
+    public @Nullable Eviction evict(@Selector String region, @Nullable String key) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        if (cache == null) {
+            return null;
+        }
+        if (key == null) {
+            cache.clear();
+            estimates.remove(region);
+            LOG.info("Cleared cache region {}", region);
+            return new Eviction(region, null, null);
+        }
+        long evicted = 0;
+        for (Iterator<Cache.Entry<Object, Object>> iterator = cache.iterator(); iterator.hasNext();) {
+            if (key.equals(Objects.toString(iterator.next().getKey()))) {
+                iterator.remove();
+                evicted++;
+            }
+        }
+        LOG.info("Evicted {} entries with key {} from cache region {}", evicted, key, region);
+        return new Eviction(region, key, evicted);
+    }
+
+    private void estimateRegions() {
+        try {
+            for (String name : cacheManager.getCacheNames()) {
+                Cache<Object, Object> cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    estimates.put(name, estimateRegion(name, cache));
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Cache estimation failed: {}", e.getMessage());
+        } finally {
+            estimating.set(false);
+        }
+    }
+
+    private RegionEstimate estimateRegion(String name, Cache<Object, Object> cache) {
+        // Reservoir sampling, so that the sample is uniform without holding more than sampleSize entries
+        List<Cache.Entry<Object, Object>> sample = new ArrayList<>(sampleSize);
+        long entries = 0;
+        for (Cache.Entry<Object, Object> entry : cache) {
+            entries++;
+            if (sample.size() < sampleSize) {
+                sample.add(entry);
+            } else {
+                long index = ThreadLocalRandom.current().nextLong(entries);
+                if (index < sampleSize) {
+                    sample.set((int) index, entry);
+                }
+            }
+        }
+
+        DistributionSummary entrySize = DistributionSummary.builder(ENTRY_SIZE_METER_NAME)
+            .description("Estimated heap size of sampled cache entries")
+            .baseUnit("bytes")
+            .tag("cache", name)
+            .serviceLevelObjectives(ENTRY_SIZE_SLOS)
+            .register(meterRegistry);
+        long[] histogram = new long[HISTOGRAM_BUCKETS];
+        long sampledBytes = 0;
+        boolean truncated = false;
+        for (Cache.Entry<Object, Object> entry : sample) {
+            ObjectSizeEstimator.Estimate key = sizeEstimator.estimate(entry.getKey());
+            ObjectSizeEstimator.Estimate value = sizeEstimator.estimate(entry.getValue());
+            long bytes = key.bytes() + value.bytes();
+            truncated |= key.truncated() || value.truncated();
+            sampledBytes += bytes;
+            histogram[bucket(bytes)]++;
+            entrySize.record(bytes);
+        }
+        long averageEntryBytes = sample.isEmpty() ? 0 : sampledBytes / sample.size();
+        return new RegionEstimate(
+            name,
+            entries,
+            sample.size(),
+            averageEntryBytes,
+            averageEntryBytes * entries,
+            truncated,
+            histogram(histogram),
+            Instant.now()
+        );
+    }
+
+    private static int bucket(long bytes) {
+        int bucket = 0;
+        for (long upperBound = FIRST_HISTOGRAM_BUCKET; bytes > upperBound && bucket < HISTOGRAM_BUCKETS - 1; upperBound *= 2) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static double[] entrySizeSlos() {
+        double[] slos = new double[HISTOGRAM_BUCKETS - 1];
+        long upperBound = FIRST_HISTOGRAM_BUCKET;
+        for (int bucket = 0; bucket < slos.length; bucket++, upperBound *= 2) {
+            slos[bucket] = upperBound;
+        }
+        return slos;
+    }
+
+    private static Map<String, Long> histogram(long[] counts) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        long upperBound = FIRST_HISTOGRAM_BUCKET;
+        for (int bucket = 0; bucket < HISTOGRAM_BUCKETS; bucket++, upperBound *= 2) {
+            String label = bucket < HISTOGRAM_BUCKETS - 1 ? "le_" + upperBound : "gt_" + upperBound / 2;
+            histogram.put(label, counts[bucket]);
+        }
+        return histogram;
+    }
+
+    public record CacheInspection(boolean estimating, List<RegionEstimate> regions) {}
+
+    /**
+     * Estimate of a region: {@code estimatedBytes} extrapolates the average size of the sampled entries,
+     * {@code truncated} tells that some walks hit their bound, {@code histogram} counts the sampled entries by size.
+     */
+    public record RegionEstimate(
+        String name,
+        long entries,
+        int sampledEntries,
+        long averageEntryBytes,
+        long estimatedBytes,
+        boolean truncated,
+        Map<String, Long> histogram,
+        @Nullable Instant estimatedAt
+    ) {
+        static RegionEstimate pending(String name) {
+            return new RegionEstimate(name, -1, 0, 0, 0, false, Map.of(), null);
+        }
+    }
+
+    public record Eviction(String region, @Nullable String key, @Nullable Long evicted) {}
+}
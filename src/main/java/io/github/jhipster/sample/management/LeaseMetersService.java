@@ -0,0 +1,55 @@
+package io.github.jhipster.sample.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LeaseMetersService {
+
+    public static final String ACQUISITIONS_METER_NAME = "lease.acquisitions";
+    public static final String ACQUISITIONS_METER_DESCRIPTION =
+        "Indicates attempts to acquire a job lease, by outcome: acquired, or skipped while held by another instance.";
+
+    public static final String RENEWALS_METER_NAME = "lease.renewals";
+    public static final String RENEWALS_METER_DESCRIPTION =
+        "Indicates renewals of the job leases held, by outcome: renewed, or lost after expiring or being taken over.";
+
+    public static final String HELD_METER_NAME = "lease.held";
+    public static final String HELD_METER_DESCRIPTION = "Time a job lease was held, while running its job.";
+
+    public static final String LEASE_DIMENSION = "lease";
+    public static final String OUTCOME_DIMENSION = "outcome";
+
+    private final MeterRegistry registry;
+
+    public LeaseMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    private Counter counter(String name, String description, String lease, String outcome) {
+        return Counter.builder(name)
+            .description(description)
+            .tag(LEASE_DIMENSION, lease)
+            .tag(OUTCOME_DIMENSION, outcome)
+            .register(registry);
+    }
+
+    public void trackAcquisition(String lease, boolean acquired) {
+        counter(ACQUISITIONS_METER_NAME, ACQUISITIONS_METER_DESCRIPTION, lease, acquired ? "acquired" : "skipped").increment();
+    }
+
+    public void trackRenewal(String lease, boolean renewed) {
+        counter(RENEWALS_METER_NAME, RENEWALS_METER_DESCRIPTION, lease, renewed ? "renewed" : "lost").increment();
+    }
+
+    public void recordHeld(String lease, long nanos) {
+        Timer.builder(HELD_METER_NAME)
+            .description(HELD_METER_DESCRIPTION)
+            .tag(LEASE_DIMENSION, lease)
+            .register(registry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.jhipster.sample.management;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health of the Liquibase migration, part of the readiness group.
+ * <p>
+ * When Liquibase starts asynchronously ({@code application.liquibase.async-start}), the application is out of service
+ * until the migration is done, and down if it failed, so that no traffic is routed to it before its schema is up to date.
+ * A synchronous migration is done before the application starts, the indicator is then always up.
+ */
+@Component("liquibaseMigration")
+public class LiquibaseMigrationHealthIndicator implements HealthIndicator {
+
+    /**
+     * State of the migration.
+     */
+    public enum State {
+        NOT_STARTED,
+        RUNNING,
+        MIGRATED,
+        FAILED,
+    }
+
+    private volatile State state = State.NOT_STARTED;
+
+    private volatile @Nullable Duration duration;
+
+    private volatile @Nullable String error;
+
+    @Override
+    public Health health() {
+        return switch (state) {
+            case RUNNING -> Health.outOfService().withDetail("state", state).build();
+            case FAILED -> Health.down().withDetail("state", state).withDetail("error", String.valueOf(error)).build();
+            case MIGRATED -> Health.up().withDetail("state", state).withDetail("durationMs", duration.toMillis()).build();
+            case NOT_STARTED -> Health.up().withDetail("state", state).build();
+        };
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return how long the asynchronous migration took, once done.
+     */
+    public Optional<Duration> getDuration() {
+        return Optional.ofNullable(duration);
+    }
+
+    public void started() {
+        state = State.RUNNING;
+    }
+
+    public void migrated(Duration duration) {
+        this.duration = duration;
+        state = State.MIGRATED;
+    }
+
+    public void failed(Throwable error) {
+        this.error = error.getMessage();
+        state = State.FAILED;
+    }
+}
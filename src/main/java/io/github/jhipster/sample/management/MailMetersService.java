@@ -0,0 +1,90 @@
+package io.github.jhipster.sample.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class MailMetersService {
+
+    public static final String BATCH_METER_NAME = "mail.outbox.batch";
+    public static final String BATCH_METER_DESCRIPTION = "Time spent sending a batch of mails over one SMTP connection.";
+
+    public static final String BATCH_SIZE_METER_NAME = "mail.outbox.batch.size";
+    public static final String BATCH_SIZE_METER_DESCRIPTION = "Number of mails sent in each batch.";
+    public static final String BATCH_SIZE_METER_BASE_UNIT = "mails";
+
+    public static final String MAILS_METER_NAME = "mail.outbox.mails";
+    public static final String MAILS_METER_DESCRIPTION =
+        "Indicates attempts to send mails, by outcome: sent, retried later, or abandoned after the last attempt.";
+    public static final String MAILS_METER_BASE_UNIT = "mails";
+    public static final String MAILS_METER_OUTCOME_DIMENSION = "outcome";
+
+    public static final String PENDING_METER_NAME = "mail.outbox.pending";
+    public static final String PENDING_METER_DESCRIPTION = "Number of mails left to send in the outbox, as of the last dispatch.";
+
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizeSummary;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter abandonedCounter;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    public MailMetersService(MeterRegistry registry) {
+        this.batchTimer = Timer.builder(BATCH_METER_NAME).description(BATCH_METER_DESCRIPTION).register(registry);
+        this.batchSizeSummary = DistributionSummary.builder(BATCH_SIZE_METER_NAME)
+            .baseUnit(BATCH_SIZE_METER_BASE_UNIT)
+            .description(BATCH_SIZE_METER_DESCRIPTION)
+            .register(registry);
+
+        this.sentCounter = mailsCounterForOutcomeBuilder("sent").register(registry);
+        this.retriedCounter = mailsCounterForOutcomeBuilder("retried").register(registry);
+        this.abandonedCounter = mailsCounterForOutcomeBuilder("abandoned").register(registry);
+
+        Gauge.builder(PENDING_METER_NAME, pending, AtomicLong::get)
+            .baseUnit(MAILS_METER_BASE_UNIT)
+            .description(PENDING_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    private Counter.Builder mailsCounterForOutcomeBuilder(String outcome) {
+        return Counter.builder(MAILS_METER_NAME)
+            .baseUnit(MAILS_METER_BASE_UNIT)
+            .description(MAILS_METER_DESCRIPTION)
+            .tag(MAILS_METER_OUTCOME_DIMENSION, outcome);
+    }
+
+    /**
+     * Record a batch sent over one connection.
+     *
+     * @param size the number of mails in the batch.
+     * @param nanos the time spent sending the batch, connection included.
+     */
+    public void recordBatch(int size, long nanos) {
+        this.batchSizeSummary.record(size);
+        this.batchTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackSent(int count) {
+        this.sentCounter.increment(count);
+    }
+
+    public void trackRetried() {
+        this.retriedCounter.increment();
+    }
+
+    public void trackAbandoned() {
+        this.abandonedCounter.increment();
+    }
+
+    public void updatePending(long count) {
+        this.pending.set(count);
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.jhipster.sample.management;
+
+import io.github.jhipster.sample.aop.timing.TimingAspect;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * Management endpoint switching the {@link TimingAspect} at runtime, on this instance only.
+ */
+@Component
+@Profile(JHipsterConstants.SPRING_PROFILE_PRODUCTION)
+@Endpoint(id = "methodtiming")
+public class MethodTimingEndpoint {
+
+    private final TimingAspect timingAspect;
+
+    public MethodTimingEndpoint(TimingAspect timingAspect) {
+        this.timingAspect = timingAspect;
+    }
+
+    /**
+     * {@code GET /management/methodtiming} : whether methods are timed, and which share of their calls.
+     */
+    @ReadOperation
+    public MethodTiming timing() {
+        return new MethodTiming(timingAspect.isEnabled(), timingAspect.getSampleRate(), timingAspect.getTimedMethods());
+    }
+
+    /**
+     * {@code POST /management/methodtiming} : switches timing on or off, and changes the share of the calls timed.
+     *
+     * @throws InvalidEndpointRequestException {@code 400 (Bad Request)} if the sample rate is not between 0 and 1.
+     */
+    @WriteOperation
+    public MethodTiming configure(@Nullable Boolean enabled, @Nullable Double sampleRate) {
+        if (sampleRate != null) {
+            try {
+                timingAspect.setSampleRate(sampleRate);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage(), e);
+            }
+        }
+        if (enabled != null) {
+            timingAspect.setEnabled(enabled);
+        }
+        return timing();
+    }
+
+    /**
+     * State of the method timing.
+     *
+     * @param enabled whether methods are timed.
+     * @param sampleRate share of the calls timed.
+     * @param timedMethods number of methods timed so far.
+     */
+    public record MethodTiming(boolean enabled, double sampleRate, int timedMethods) {}
+}
@@ -0,0 +1,193 @@
+package io.github.jhipster.sample.management;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates the heap retained by an object graph by walking its references.
+ * <p>
+ * Sizes assume a 64-bit JVM with compressed references. Fields of JDK classes cannot be read reflectively,
+ * so JDK collections and maps are walked through their public API with an approximate per-element overhead.
+ * Each walk stops after a maximum number of objects, and keeps no more objects pending than that maximum, in which
+ * case the estimate is a lower bound.
+ */
+public class ObjectSizeEstimator {
+
+    private static final int OBJECT_HEADER = 12;
+
+    private static final int ARRAY_HEADER = 16;
+
+    private static final int REFERENCE = 4;
+
+    private static final int ALIGNMENT = 8;
+
+    /**
+     * Approximate size of the node holding each element of a JDK collection or map.
+     */
+    private static final int NODE_OVERHEAD = 32;
+
+    private final int maxObjects;
+
+    private final ClassValue<Layout> layouts = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return Layout.of(type);
+        }
+    };
+
+    public ObjectSizeEstimator(int maxObjects) {
+        this.maxObjects = maxObjects;
+    }
+
+    public Estimate estimate(Object root) {
+        Walk walk = new Walk();
+        walk.push(root);
+        long bytes = 0;
+        while (!walk.pending.isEmpty()) {
+            if (walk.visited.size() >= maxObjects) {
+                return new Estimate(bytes, true);
+            }
+            Object object = walk.pending.pop();
+            if (isShared(object) || !walk.visited.add(object)) {
+                continue;
+            }
+            bytes += sizeOf(object, walk);
+        }
+        return new Estimate(bytes, walk.truncated);
+    }
+
+    private long sizeOf(Object object, Walk walk) {
+        Class<?> type = object.getClass();
+        if (object instanceof String string) {
+            return align(layouts.get(type).shallowSize) + align(ARRAY_HEADER + (long) string.length());
+        }
+        if (type.isArray()) {
+            int length = Array.getLength(object);
+            Class<?> componentType = type.getComponentType();
+            if (componentType.isPrimitive()) {
+                return align(ARRAY_HEADER + (long) length * primitiveSize(componentType));
+            }
+            for (Object element : (Object[]) object) {
+                if (!walk.push(element)) {
+                    break;
+                }
+            }
+            return align(ARRAY_HEADER + (long) length * REFERENCE);
+        }
+        Layout layout = layouts.get(type);
+        long size = align(layout.shallowSize);
+        if (!layout.readable) {
+            if (object instanceof Collection<?> collection) {
+                for (Object element : collection) {
+                    if (!walk.push(element)) {
+                        break;
+                    }
+                }
+                size += (long) collection.size() * NODE_OVERHEAD;
+            } else if (object instanceof Map<?, ?> map) {
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (!walk.push(entry.getKey()) || !walk.push(entry.getValue())) {
+                        break;
+                    }
+                }
+                size += (long) map.size() * NODE_OVERHEAD;
+            }
+        }
+        for (Field field : layout.references) {
+            try {
+                if (!walk.push(field.get(object))) {
+                    break;
+                }
+            } catch (IllegalAccessException e) {
+                // Counted in the shallow size only
+            }
+        }
+        return size;
+    }
+
+    private static boolean isShared(Object object) {
+        return object instanceof Class<?> || object instanceof Enum<?>;
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    public record Estimate(long bytes, boolean truncated) {}
+
+    /**
+     * State of one walk. At most {@code maxObjects} objects are walked, so no more are kept pending: the references
+     * found past that bound, in a large array or collection for instance, are dropped and the estimate is truncated.
+     */
+    private final class Walk {
+
+        private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private final Deque<Object> pending = new ArrayDeque<>();
+
+        private boolean truncated;
+
+        /**
+         * @return {@code false} once the pending objects reached the bound, so that the caller stops pushing.
+         */
+        boolean push(Object object) {
+            if (pending.size() >= maxObjects) {
+                truncated = true;
+                return false;
+            }
+            if (object != null) {
+                pending.push(object);
+            }
+            return true;
+        }
+    }
+
+    private record Layout(long shallowSize, boolean readable, List<Field> references) {
+        static Layout of(Class<?> type) {
+            long shallowSize = OBJECT_HEADER;
+            boolean readable = true;
+            List<Field> references = new ArrayList<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    if (field.getType().isPrimitive()) {
+                        shallowSize += primitiveSize(field.getType());
+                        continue;
+                    }
+                    shallowSize += REFERENCE;
+                    if (field.trySetAccessible()) {
+                        references.add(field);
+                    } else {
+                        readable = false;
+                    }
+                }
+            }
+            return new Layout(shallowSize, readable, List.copyOf(references));
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package io.github.jhipster.sample.management;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +21,108 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
-    private final Counter tokenInvalidSignatureCounter;
-    private final Counter tokenExpiredCounter;
-    private final Counter tokenUnsupportedCounter;
-    private final Counter tokenMalformedCounter;
+    private static final String UNKNOWN_CAUSE = "unknown";
+
+    public static final String TOKEN_DECODING_METER_NAME = "security.authentication.token-decoding";
+    public static final String TOKEN_DECODING_METER_DESCRIPTION =
+        "Time spent decoding and verifying the tokens presented by the clients, by outcome.";
+    public static final String TOKEN_DECODING_METER_OUTCOME_DIMENSION = "outcome";
+
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_DESCRIPTION =
+        "Indicates lookups of the tokens presented by the clients in the verified tokens cache.";
+    public static final String TOKEN_CACHE_METER_BASE_UNIT = "lookups";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+
+    public static final String UNKNOWN_USERS_METER_NAME = "security.authentication.unknown-users";
+    public static final String UNKNOWN_USERS_METER_DESCRIPTION =
+        "Indicates lookups of logins or emails not belonging to any user, rejected from the cache or after querying the database.";
+    public static final String UNKNOWN_USERS_METER_BASE_UNIT = "lookups";
+    public static final String UNKNOWN_USERS_METER_SOURCE_DIMENSION = "source";
+
+    public static final String PASSWORD_HASHING_QUEUE_WAIT_METER_NAME = "security.password-hashing.queue-wait";
+    public static final String PASSWORD_HASHING_QUEUE_WAIT_METER_DESCRIPTION =
+        "Time spent by password hashes and verifications waiting for a hashing thread.";
+
+    public static final String PASSWORD_HASHING_METER_NAME = "security.password-hashing.duration";
+    public static final String PASSWORD_HASHING_METER_DESCRIPTION = "Time spent hashing or verifying passwords.";
+
+    public static final String PASSWORD_HASHING_REJECTED_METER_NAME = "security.password-hashing.rejected";
+    public static final String PASSWORD_HASHING_REJECTED_METER_DESCRIPTION =
+        "Indicates password hashes and verifications rejected because the hashing queue was full.";
+    public static final String PASSWORD_HASHING_REJECTED_METER_BASE_UNIT = "requests";
+
+    public static final String RATE_LIMIT_REJECTED_METER_NAME = "security.rate-limit.rejected";
+    public static final String RATE_LIMIT_REJECTED_METER_DESCRIPTION =
+        "Indicates requests to rate-limited endpoints rejected because the bucket of their login or client IP address was empty.";
+    public static final String RATE_LIMIT_REJECTED_METER_BASE_UNIT = "requests";
+    public static final String RATE_LIMIT_KEY_DIMENSION = "key";
+
+    public static final String RATE_LIMIT_TRACKED_KEYS_METER_NAME = "security.rate-limit.tracked-keys";
+    public static final String RATE_LIMIT_TRACKED_KEYS_METER_DESCRIPTION = "Number of logins or client IP addresses having a bucket.";
+
+    public static final String RATE_LIMIT_OVERFLOWS_METER_NAME = "security.rate-limit.overflows";
+    public static final String RATE_LIMIT_OVERFLOWS_METER_DESCRIPTION =
+        "Number of times a bucket had to be dropped while still in use, because too many keys were tracked.";
+
+    private final MeterRegistry registry;
+
+    private final Counter tokenRevokedCounter;
+    private final Counter tokenUnknownErrorCounter;
+    private final Map<String, Counter> invalidTokensCounters;
+
+    private final Timer tokenDecodedTimer;
+    private final Map<String, Timer> tokenRejectedTimers;
+
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+
+    private final Counter unknownUserFromCacheCounter;
+    private final Counter unknownUserFromDatabaseCounter;
+
+    private final Timer passwordHashingQueueWaitTimer;
+    private final Timer passwordHashingTimer;
+    private final Counter passwordHashingRejectedCounter;
+
+    private final Counter rateLimitRejectedByLoginCounter;
+    private final Counter rateLimitRejectedByIpCounter;
 
     public SecurityMetersService(MeterRegistry registry) {
-        this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
-        this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
-        this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
-        this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.registry = registry;
+        this.invalidTokensCounters = Stream.of("invalid-signature", "expired", "unsupported", "malformed", "revoked", UNKNOWN_CAUSE)
+            .collect(
+                Collectors.toUnmodifiableMap(Function.identity(), cause -> invalidTokensCounterForCauseBuilder(cause).register(registry))
+            );
+        this.tokenRevokedCounter = invalidTokensCounters.get("revoked");
+        this.tokenUnknownErrorCounter = invalidTokensCounters.get(UNKNOWN_CAUSE);
+
+        this.tokenDecodedTimer = tokenDecodingTimerForOutcomeBuilder("success").register(registry);
+        this.tokenRejectedTimers = invalidTokensCounters
+            .keySet()
+            .stream()
+            .collect(
+                Collectors.toUnmodifiableMap(Function.identity(), cause -> tokenDecodingTimerForOutcomeBuilder(cause).register(registry))
+            );
+
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+
+        this.unknownUserFromCacheCounter = unknownUsersCounterForSourceBuilder("cache").register(registry);
+        this.unknownUserFromDatabaseCounter = unknownUsersCounterForSourceBuilder("database").register(registry);
+
+        this.passwordHashingQueueWaitTimer = Timer.builder(PASSWORD_HASHING_QUEUE_WAIT_METER_NAME)
+            .description(PASSWORD_HASHING_QUEUE_WAIT_METER_DESCRIPTION)
+            .register(registry);
+        this.passwordHashingTimer = Timer.builder(PASSWORD_HASHING_METER_NAME)
+            .description(PASSWORD_HASHING_METER_DESCRIPTION)
+            .register(registry);
+        this.passwordHashingRejectedCounter = Counter.builder(PASSWORD_HASHING_REJECTED_METER_NAME)
+            .baseUnit(PASSWORD_HASHING_REJECTED_METER_BASE_UNIT)
+            .description(PASSWORD_HASHING_REJECTED_METER_DESCRIPTION)
+            .register(registry);
+
+        this.rateLimitRejectedByLoginCounter = rateLimitRejectedCounterForKeyBuilder("login").register(registry);
+        this.rateLimitRejectedByIpCounter = rateLimitRejectedCounterForKeyBuilder("ip").register(registry);
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,19 +132,103 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
-    public void trackTokenInvalidSignature() {
-        this.tokenInvalidSignatureCounter.increment();
+    private Timer.Builder tokenDecodingTimerForOutcomeBuilder(String outcome) {
+        return Timer.builder(TOKEN_DECODING_METER_NAME)
+            .description(TOKEN_DECODING_METER_DESCRIPTION)
+            .tag(TOKEN_DECODING_METER_OUTCOME_DIMENSION, outcome);
+    }
+
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_METER_NAME)
+            .baseUnit(TOKEN_CACHE_METER_BASE_UNIT)
+            .description(TOKEN_CACHE_METER_DESCRIPTION)
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private Counter.Builder unknownUsersCounterForSourceBuilder(String source) {
+        return Counter.builder(UNKNOWN_USERS_METER_NAME)
+            .baseUnit(UNKNOWN_USERS_METER_BASE_UNIT)
+            .description(UNKNOWN_USERS_METER_DESCRIPTION)
+            .tag(UNKNOWN_USERS_METER_SOURCE_DIMENSION, source);
+    }
+
+    private Counter.Builder rateLimitRejectedCounterForKeyBuilder(String key) {
+        return Counter.builder(RATE_LIMIT_REJECTED_METER_NAME)
+            .baseUnit(RATE_LIMIT_REJECTED_METER_BASE_UNIT)
+            .description(RATE_LIMIT_REJECTED_METER_DESCRIPTION)
+            .tag(RATE_LIMIT_KEY_DIMENSION, key);
+    }
+
+    public void trackTokenRevoked() {
+        this.tokenRevokedCounter.increment();
+    }
+
+    public void recordTokenDecoded(long nanos) {
+        this.tokenDecodedTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Count a rejected token and record the time spent rejecting it.
+     *
+     * @param cause the {@code cause} tag of the {@link #INVALID_TOKENS_METER_NAME} counters, unknown causes are counted as {@code unknown}.
+     * @param nanos the time spent decoding the token.
+     */
+    public void recordTokenRejected(String cause, long nanos) {
+        this.invalidTokensCounters.getOrDefault(cause, tokenUnknownErrorCounter).increment();
+        this.tokenRejectedTimers.getOrDefault(cause, tokenRejectedTimers.get(UNKNOWN_CAUSE)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public void trackUnknownUserFromCache() {
+        this.unknownUserFromCacheCounter.increment();
+    }
+
+    public void trackUnknownUserFromDatabase() {
+        this.unknownUserFromDatabaseCounter.increment();
+    }
+
+    public void recordPasswordHashingQueueWait(long nanos) {
+        this.passwordHashingQueueWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordHashing(long nanos) {
+        this.passwordHashingTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackPasswordHashingRejected() {
+        this.passwordHashingRejectedCounter.increment();
     }
 
-    public void trackTokenExpired() {
-        this.tokenExpiredCounter.increment();
+    public void trackRateLimitRejectedByLogin() {
+        this.rateLimitRejectedByLoginCounter.increment();
     }
 
-    public void trackTokenUnsupported() {
-        this.tokenUnsupportedCounter.increment();
+    public void trackRateLimitRejectedByIp() {
+        this.rateLimitRejectedByIpCounter.increment();
     }
 
-    public void trackTokenMalformed() {
-        this.tokenMalformedCounter.increment();
+    /**
+     * Expose the state of a rate limiter.
+     *
+     * @param key the {@code key} tag of the gauges, {@code login} or {@code ip}.
+     * @param trackedKeys the number of keys having a bucket.
+     * @param overflows the number of times a bucket in use was dropped.
+     */
+    public void bindRateLimiter(String key, Supplier<Number> trackedKeys, Supplier<Number> overflows) {
+        Gauge.builder(RATE_LIMIT_TRACKED_KEYS_METER_NAME, trackedKeys)
+            .description(RATE_LIMIT_TRACKED_KEYS_METER_DESCRIPTION)
+            .tag(RATE_LIMIT_KEY_DIMENSION, key)
+            .register(registry);
+        Gauge.builder(RATE_LIMIT_OVERFLOWS_METER_NAME, overflows)
+            .description(RATE_LIMIT_OVERFLOWS_METER_DESCRIPTION)
+            .tag(RATE_LIMIT_KEY_DIMENSION, key)
+            .register(registry);
     }
 }
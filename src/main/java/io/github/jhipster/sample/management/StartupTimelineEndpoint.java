@@ -0,0 +1,175 @@
+package io.github.jhipster.sample.management;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint showing where the startup time went.
+ * <p>
+ * When the application is started with a {@link BufferingApplicationStartup}, as done by the main class, the steps
+ * recorded by Spring are drained once the application is ready and summarized: the main phases (Liquibase, the JPA
+ * bootstrap, the creation of the caches and the logging configuration) and the beans slowest to initialize, by self
+ * time, that is without the time spent initializing their dependencies. The summary is also logged. The asynchronous
+ * Liquibase migration, which may end after the application is ready, is reported as it goes.
+ */
+@Component
+@Endpoint(id = "startuptimeline")
+public class StartupTimelineEndpoint {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupTimelineEndpoint.class);
+
+    private static final String BEAN_INSTANTIATION_STEP = "spring.beans.instantiate";
+
+    private static final String CONTEXT_REFRESH_STEP = "spring.context.refresh";
+
+    private static final String BEAN_NAME_TAG = "beanName";
+
+    /**
+     * Phases of the startup, by the name of the bean whose initialization includes them.
+     */
+    private static final Map<String, String> PHASE_BEANS = Map.of(
+        "liquibase",
+        "liquibase",
+        "entityManagerFactory",
+        "jpa",
+        "jCacheCacheManager",
+        "cache",
+        "loggingConfiguration",
+        "logging"
+    );
+
+    private static final int SLOWEST_BEANS = 10;
+
+    private final ApplicationStartup applicationStartup;
+
+    private final LiquibaseMigrationHealthIndicator liquibaseMigration;
+
+    private volatile @Nullable Startup startup;
+
+    public StartupTimelineEndpoint(ApplicationStartup applicationStartup, LiquibaseMigrationHealthIndicator liquibaseMigration) {
+        this.applicationStartup = applicationStartup;
+        this.liquibaseMigration = liquibaseMigration;
+    }
+
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        Startup summary = summarize(event.getTimeTaken(), Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime()));
+        startup = summary;
+        LOG.info(
+            "Application ready in {} ms, {} ms after the JVM started; phases: {}; slowest beans: {}",
+            summary.applicationMs(),
+            summary.jvmMs() + summary.applicationMs(),
+            summary.phasesMs(),
+            summary.slowestBeans().stream().map(bean -> bean.name() + "=" + bean.selfMs()).collect(Collectors.joining(", ", "[", "]"))
+        );
+    }
+
+    /**
+     * {@code GET /management/startuptimeline} : the startup summary, once the application is ready.
+     */
+    @ReadOperation
+    public @Nullable StartupReport timeline() {
+        Startup summary = startup;
+        if (summary == null) {
+            return null;
+        }
+        return new StartupReport(
+            summary.jvmMs(),
+            summary.applicationMs(),
+            summary.phasesMs(),
+            summary.slowestBeans(),
+            liquibaseMigration.getState(),
+            liquibaseMigration.getDuration().map(Duration::toMillis).orElse(null)
+        );
+    }
+
+    Startup summarize(Duration timeTaken, Duration uptime) {
+        Map<String, Long> phasesMs = new LinkedHashMap<>();
+        List<BeanTiming> beans = new ArrayList<>();
+        if (applicationStartup instanceof BufferingApplicationStartup buffering) {
+            List<StartupTimeline.TimelineEvent> events = buffering.drainBufferedTimeline().getEvents();
+            Map<Long, Duration> childrenDurations = new HashMap<>();
+            for (StartupTimeline.TimelineEvent event : events) {
+                Long parentId = event.getStartupStep().getParentId();
+                if (parentId != null) {
+                    childrenDurations.merge(parentId, event.getDuration(), Duration::plus);
+                }
+            }
+            for (StartupTimeline.TimelineEvent event : events) {
+                StartupStep step = event.getStartupStep();
+                if (CONTEXT_REFRESH_STEP.equals(step.getName())) {
+                    phasesMs.put("context", event.getDuration().toMillis());
+                } else if (BEAN_INSTANTIATION_STEP.equals(step.getName())) {
+                    String beanName = beanName(step);
+                    Duration self = event.getDuration().minus(childrenDurations.getOrDefault(step.getId(), Duration.ZERO));
+                    beans.add(new BeanTiming(beanName, self.toMillis(), event.getDuration().toMillis()));
+                    String phase = PHASE_BEANS.get(beanName);
+                    if (phase != null) {
+                        phasesMs.merge(phase, event.getDuration().toMillis(), Long::sum);
+                    }
+                }
+            }
+            beans.sort(Comparator.comparingLong(BeanTiming::selfMs).reversed());
+        }
+        long jvmMs = Math.max(0, uptime.minus(timeTaken).toMillis());
+        return new Startup(jvmMs, timeTaken.toMillis(), phasesMs, List.copyOf(beans.subList(0, Math.min(SLOWEST_BEANS, beans.size()))));
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (BEAN_NAME_TAG.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "unknown";
+    }
+
+    record Startup(long jvmMs, long applicationMs, Map<String, Long> phasesMs, List<BeanTiming> slowestBeans) {}
+
+    /**
+     * The startup summary.
+     *
+     * @param jvmMs time from the JVM start to the start of the application.
+     * @param applicationMs time from the start of the application until it was ready.
+     * @param phasesMs duration of each recorded phase of the startup.
+     * @param slowestBeans the beans slowest to initialize.
+     * @param liquibaseMigration state of the Liquibase migration.
+     * @param liquibaseMigrationMs duration of the asynchronous Liquibase migration, once done.
+     */
+    public record StartupReport(
+        long jvmMs,
+        long applicationMs,
+        Map<String, Long> phasesMs,
+        List<BeanTiming> slowestBeans,
+        LiquibaseMigrationHealthIndicator.State liquibaseMigration,
+        @Nullable Long liquibaseMigrationMs
+    ) {}
+
+    /**
+     * Initialization time of a bean.
+     *
+     * @param name the bean name.
+     * @param selfMs time spent initializing the bean itself.
+     * @param totalMs time spent initializing the bean and the dependencies it created.
+     */
+    public record BeanTiming(String name, long selfMs, long totalMs) {}
+}
@@ -0,0 +1,74 @@
+package io.github.jhipster.sample.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+
+@Service
+public class UserCleanupMetersService {
+
+    public static final String CHUNK_METER_NAME = "user.cleanup.chunk";
+    public static final String CHUNK_METER_DESCRIPTION = "Time spent deleting a chunk of not activated users, in one transaction.";
+
+    public static final String ROWS_METER_NAME = "user.cleanup.rows";
+    public static final String ROWS_METER_DESCRIPTION = "Indicates rows deleted by the cleanup of not activated users, by table.";
+    public static final String ROWS_METER_BASE_UNIT = "rows";
+    public static final String ROWS_METER_TABLE_DIMENSION = "table";
+
+    public static final String THROUGHPUT_METER_NAME = "user.cleanup.throughput";
+    public static final String THROUGHPUT_METER_DESCRIPTION = "Rows deleted per second by the last cleanup of not activated users.";
+    public static final String THROUGHPUT_METER_BASE_UNIT = "rows.per.second";
+
+    private final Timer chunkTimer;
+
+    private final Counter usersCounter;
+    private final Counter authoritiesCounter;
+
+    private final AtomicLong throughput = new AtomicLong();
+
+    public UserCleanupMetersService(MeterRegistry registry) {
+        this.chunkTimer = Timer.builder(CHUNK_METER_NAME).description(CHUNK_METER_DESCRIPTION).register(registry);
+
+        this.usersCounter = rowsCounterForTableBuilder("jhi_user").register(registry);
+        this.authoritiesCounter = rowsCounterForTableBuilder("jhi_user_authority").register(registry);
+
+        Gauge.builder(THROUGHPUT_METER_NAME, throughput, AtomicLong::get)
+            .baseUnit(THROUGHPUT_METER_BASE_UNIT)
+            .description(THROUGHPUT_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    private Counter.Builder rowsCounterForTableBuilder(String table) {
+        return Counter.builder(ROWS_METER_NAME)
+            .baseUnit(ROWS_METER_BASE_UNIT)
+            .description(ROWS_METER_DESCRIPTION)
+            .tag(ROWS_METER_TABLE_DIMENSION, table);
+    }
+
+    /**
+     * Record a chunk deleted in one transaction.
+     *
+     * @param users the number of users deleted.
+     * @param authorities the number of user authorities deleted.
+     * @param nanos the time spent deleting the chunk, commit included.
+     */
+    public void recordChunk(int users, int authorities, long nanos) {
+        this.usersCounter.increment(users);
+        this.authoritiesCounter.increment(authorities);
+        this.chunkTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a complete run.
+     *
+     * @param rows the number of rows deleted, from every table.
+     * @param nanos the duration of the run.
+     */
+    public void recordRun(long rows, long nanos) {
+        this.throughput.set(nanos > 0 ? rows * TimeUnit.SECONDS.toNanos(1) / nanos : 0);
+    }
+}
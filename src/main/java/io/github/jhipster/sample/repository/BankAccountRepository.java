@@ -14,8 +14,12 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface BankAccountRepository extends JpaRepository<BankAccount, Long> {
-    @Query("select bankAccount from BankAccount bankAccount where bankAccount.user.login = ?#{authentication.name}")
-    List<BankAccount> findByUserIsCurrentUser();
+    /**
+     * Get the bank accounts of a user, filtering on the {@code user_id} column without joining {@code jhi_user}.
+     * The current user id is given by {@code SecurityUtils.getCurrentUserId()}.
+     */
+    @Query("select bankAccount from BankAccount bankAccount where bankAccount.user.id = :userId")
+    List<BankAccount> findByUserId(@Param("userId") Long userId);
 
     default Optional<BankAccount> findOneWithEagerRelationships(Long id) {
         return this.findOneWithToOneRelationships(id);
@@ -0,0 +1,11 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.JobCheckpoint;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link JobCheckpoint} entity.
+ */
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {}
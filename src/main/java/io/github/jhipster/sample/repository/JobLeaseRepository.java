@@ -0,0 +1,48 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.JobLease;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link JobLease} entity.
+ * <p>
+ * Leases are acquired, renewed and released with conditional updates, so that only one instance succeeds.
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+    @Modifying
+    @Query(
+        "update JobLease lease set lease.owner = :owner, lease.token = lease.token + 1, lease.expiresAt = :expiresAt " +
+            "where lease.name = :name and lease.expiresAt <= :now"
+    )
+    int acquireExpired(
+        @Param("name") String name,
+        @Param("owner") String owner,
+        @Param("now") Instant now,
+        @Param("expiresAt") Instant expiresAt
+    );
+
+    @Modifying
+    @Query(
+        "update JobLease lease set lease.expiresAt = :expiresAt " +
+            "where lease.name = :name and lease.token = :token and lease.expiresAt > :now"
+    )
+    int renew(@Param("name") String name, @Param("token") long token, @Param("now") Instant now, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("update JobLease lease set lease.expiresAt = :now where lease.name = :name and lease.token = :token and lease.expiresAt > :now")
+    int release(@Param("name") String name, @Param("token") long token, @Param("now") Instant now);
+
+    /**
+     * Find a lease still held with the given token, locking its row in share mode until the end of the transaction, so
+     * that it cannot be acquired by another instance before the transaction commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select lease from JobLease lease where lease.name = :name and lease.token = :token and lease.expiresAt > :now")
+    Optional<JobLease> findHeldForShare(@Param("name") String name, @Param("token") long token, @Param("now") Instant now);
+}
@@ -0,0 +1,29 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.OutgoingMail;
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link OutgoingMail} entity.
+ */
+@Repository
+public interface OutgoingMailRepository extends JpaRepository<OutgoingMail, Long> {
+    /**
+     * Find the mails due for an attempt, oldest first, locking them until the end of the transaction so that
+     * other instances do not claim them too.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(
+        "select outgoingMail from OutgoingMail outgoingMail where outgoingMail.nextAttemptAt <= :now" +
+        " order by outgoingMail.nextAttemptAt, outgoingMail.id"
+    )
+    List<OutgoingMail> findDueForUpdate(@Param("now") Instant now, Pageable pageable);
+
+    long countByNextAttemptAtNotNull();
+}
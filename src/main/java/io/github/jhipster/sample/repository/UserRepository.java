@@ -1,23 +1,32 @@
 package io.github.jhipster.sample.repository;
 
 import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.domain.UserPrincipal;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for the {@link User} entity.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends UserRepositoryWithPrincipals, JpaRepository<User, Long> {
     String USERS_BY_LOGIN_CACHE = "usersByLogin";
 
     String USERS_BY_EMAIL_CACHE = "usersByEmail";
+
+    String UNKNOWN_USERS_CACHE = "unknownUsers";
     Optional<User> findOneByActivationKey(String activationKey);
     List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
     Optional<User> findOneByResetKey(String resetKey);
@@ -25,12 +34,85 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneByLogin(String login);
 
     @EntityGraph(attributePaths = "authorities")
-    @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE, unless = "#result == null")
     Optional<User> findOneWithAuthoritiesByLogin(String login);
 
-    @EntityGraph(attributePaths = "authorities")
-    @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE, unless = "#result == null")
-    Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
+    @Override
+    @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE, sync = true)
+    Optional<UserPrincipal> findPrincipalByLogin(String login);
+
+    @Override
+    @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE, sync = true)
+    Optional<UserPrincipal> findPrincipalByEmailIgnoreCase(String email);
 
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    /**
+     * Find the cache keys of the not activated users created before the given date, by increasing id after the given one.
+     */
+    @Query(
+        "select new io.github.jhipster.sample.repository.UserRepository$CacheKeys(user.id, user.login, user.email) from User user " +
+            "where user.id > :afterId and user.activated = false and user.activationKey is not null " +
+            "and user.createdDate < :createdBefore order by user.id"
+    )
+    List<CacheKeys> findNotActivatedAfter(@Param("afterId") long afterId, @Param("createdBefore") Instant createdBefore, Limit limit);
+
+    /**
+     * Delete the authorities of the not activated users whose id is in {@code (afterId, lastId]}.
+     * <p>
+     * The query space makes Hibernate invalidate the cached user authorities only, not every cache region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jhi_user_authority"))
+    @Query(
+        value = "delete from jhi_user_authority where user_id in (select id from jhi_user where id > :afterId and id <= :lastId " +
+            "and activated = false and activation_key is not null and created_date < :createdBefore)",
+        nativeQuery = true
+    )
+    int deleteNotActivatedAuthoritiesBetween(
+        @Param("afterId") long afterId,
+        @Param("lastId") long lastId,
+        @Param("createdBefore") Instant createdBefore
+    );
+
+    /**
+     * Delete the not activated users whose id is in {@code (afterId, lastId]}, once their authorities are deleted.
+     * <p>
+     * The query space makes Hibernate invalidate the cached users only, not every cache region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jhi_user"))
+    @Query(
+        value = "delete from jhi_user where id > :afterId and id <= :lastId " +
+            "and activated = false and activation_key is not null and created_date < :createdBefore",
+        nativeQuery = true
+    )
+    int deleteNotActivatedBetween(
+        @Param("afterId") long afterId,
+        @Param("lastId") long lastId,
+        @Param("createdBefore") Instant createdBefore
+    );
+
+    /**
+     * Replace the password hash of a user, unless it was changed since the outdated one was read.
+     *
+     * @return the number of users updated, 0 or 1.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update User user set user.password = :upgradedPassword where user.id = :id and user.password = :outdatedPassword")
+    int updatePasswordIfUnchanged(
+        @Param("id") Long id,
+        @Param("outdatedPassword") String outdatedPassword,
+        @Param("upgradedPassword") String upgradedPassword
+    );
+
+    @Query(
+        "select new io.github.jhipster.sample.repository.UserRepository$CacheKeys(user.id, user.login, user.email) from User user " +
+            "where user.id = :id"
+    )
+    Optional<CacheKeys> findCacheKeysById(@Param("id") Long id);
+
+    /**
+     * The keys a user is cached under.
+     */
+    record CacheKeys(Long id, String login, String email) {}
 }
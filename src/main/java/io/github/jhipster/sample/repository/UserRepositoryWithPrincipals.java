@@ -0,0 +1,10 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.UserPrincipal;
+import java.util.Optional;
+
+public interface UserRepositoryWithPrincipals {
+    Optional<UserPrincipal> findPrincipalByLogin(String login);
+
+    Optional<UserPrincipal> findPrincipalByEmailIgnoreCase(String email);
+}
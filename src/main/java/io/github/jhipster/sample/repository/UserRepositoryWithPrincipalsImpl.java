@@ -0,0 +1,52 @@
+package io.github.jhipster.sample.repository;
+
+import io.github.jhipster.sample.domain.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Utility repository to load {@link UserPrincipal} snapshots with a scalar query, without managing any user entity.
+ */
+public class UserRepositoryWithPrincipalsImpl implements UserRepositoryWithPrincipals {
+
+    private static final String LOGIN_PARAMETER = "login";
+    private static final String EMAIL_PARAMETER = "email";
+
+    private static final String SELECT_PRINCIPAL =
+        "select user.id, user.login, user.password, user.activated, authority.name from User user left join user.authorities authority ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<UserPrincipal> findPrincipalByLogin(String login) {
+        return toPrincipal(
+            entityManager
+                .createQuery(SELECT_PRINCIPAL + "where user.login = :login", Object[].class)
+                .setParameter(LOGIN_PARAMETER, login)
+                .getResultList()
+        );
+    }
+
+    @Override
+    public Optional<UserPrincipal> findPrincipalByEmailIgnoreCase(String email) {
+        return toPrincipal(
+            entityManager
+                .createQuery(SELECT_PRINCIPAL + "where lower(user.email) = lower(:email)", Object[].class)
+                .setParameter(EMAIL_PARAMETER, email)
+                .getResultList()
+        );
+    }
+
+    Optional<UserPrincipal> toPrincipal(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] first = rows.get(0);
+        List<String> authorities = rows.stream().map(row -> (String) row[4]).filter(Objects::nonNull).toList();
+        return Optional.of(new UserPrincipal((Long) first[0], (String) first[1], (String) first[2], (Boolean) first[3], authorities));
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.jhipster.sample.security;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Immutable set of interned authorities, with a bitset for membership checks.
+ * <p>
+ * Each distinct authority is allocated once and, for the first 64 of them, given a bit. A set whose authorities
+ * all have a bit answers {@link #containsAny(String...)} with a single mask test instead of comparing strings.
+ */
+public final class AuthoritySet extends AbstractSet<GrantedAuthority> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_INDEXED_AUTHORITIES = Long.SIZE;
+
+    private static final Map<String, GrantedAuthority> INTERNED = new ConcurrentHashMap<>();
+
+    private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+
+    static {
+        intern(AuthoritiesConstants.ADMIN);
+        intern(AuthoritiesConstants.USER);
+        intern(AuthoritiesConstants.ANONYMOUS);
+    }
+
+    private final GrantedAuthority[] authorities;
+
+    private final transient long bits;
+
+    private final transient boolean indexed;
+
+    private AuthoritySet(GrantedAuthority[] authorities) {
+        this.authorities = authorities;
+        long setBits = 0;
+        boolean allIndexed = true;
+        for (GrantedAuthority authority : authorities) {
+            Integer index = INDEXES.get(authority.getAuthority());
+            if (index != null) {
+                setBits |= 1L << index;
+            } else {
+                allIndexed = false;
+            }
+        }
+        this.bits = setBits;
+        this.indexed = allIndexed;
+    }
+
+    /**
+     * Get the shared instance of an authority.
+     *
+     * @param authority the authority name.
+     * @return the interned authority.
+     */
+    public static GrantedAuthority intern(String authority) {
+        return intern(new SimpleGrantedAuthority(authority));
+    }
+
+    /**
+     * Get the shared instance of an authority, registering the given one if there is none yet.
+     *
+     * @param authority the authority.
+     * @return the interned authority.
+     */
+    public static GrantedAuthority intern(GrantedAuthority authority) {
+        return INTERNED.computeIfAbsent(authority.getAuthority(), name -> {
+            synchronized (INDEXES) {
+                if (INDEXES.size() < MAX_INDEXED_AUTHORITIES) {
+                    INDEXES.put(name, INDEXES.size());
+                }
+            }
+            return authority;
+        });
+    }
+
+    /**
+     * Get a set of the interned instances of the given authorities.
+     *
+     * @param authorities the authorities, duplicates are ignored.
+     * @return the authority set.
+     */
+    public static AuthoritySet copyOf(Collection<? extends GrantedAuthority> authorities) {
+        Set<GrantedAuthority> interned = new LinkedHashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            interned.add(intern(authority));
+        }
+        return new AuthoritySet(interned.toArray(GrantedAuthority[]::new));
+    }
+
+    /**
+     * Checks if this set contains any of the authorities.
+     *
+     * @param authorities the authority names.
+     * @return true if this set contains any of the authorities, false otherwise.
+     */
+    public boolean containsAny(String... authorities) {
+        long mask = 0;
+        for (String authority : authorities) {
+            Integer index = INDEXES.get(authority);
+            if (index != null) {
+                mask |= 1L << index;
+            } else if (!indexed && containsAuthority(authority)) {
+                return true;
+            }
+        }
+        return (bits & mask) != 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof GrantedAuthority authority && containsAuthority(authority.getAuthority());
+    }
+
+    private boolean containsAuthority(String name) {
+        for (GrantedAuthority authority : authorities) {
+            if (authority.getAuthority().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<GrantedAuthority> iterator() {
+        return List.of(authorities).iterator();
+    }
+
+    @Override
+    public int size() {
+        return authorities.length;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(authorities);
+    }
+
+    @Serial
+    private Object readResolve() {
+        // Bits are local to this JVM, they are recomputed on deserialization
+        return copyOf(Arrays.asList(authorities));
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.jhipster.sample.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt cost matching a target verification time on the current machine.
+ * <p>
+ * Each BCrypt cost increment doubles the hashing time, so a few hashes at a cheap probe cost are enough
+ * to extrapolate the time of every other cost.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    public static final int PROBE_COST = 8;
+
+    private static final int MIN_BCRYPT_COST = 4;
+
+    private static final int MAX_BCRYPT_COST = 31;
+
+    private static final int WARMUP_HASHES = 2;
+
+    private static final int MEASURED_HASHES = 5;
+
+    private BCryptCostCalibrator() {}
+
+    /**
+     * Get the highest cost whose verification time does not exceed the target.
+     *
+     * @param targetTime the target verification time.
+     * @param minCost the lowest cost to return, whatever the machine speed.
+     * @param maxCost the highest cost to return, whatever the machine speed.
+     * @return the calibrated cost.
+     */
+    public static int calibrate(Duration targetTime, int minCost, int maxCost) {
+        return costFor(targetTime.toNanos(), measure(PROBE_COST), minCost, maxCost);
+    }
+
+    static int costFor(long targetNanos, long probeNanos, int minCost, int maxCost) {
+        int cost = PROBE_COST;
+        long nanos = probeNanos;
+        while (cost < MAX_BCRYPT_COST && nanos * 2 <= targetNanos) {
+            cost++;
+            nanos *= 2;
+        }
+        while (cost > MIN_BCRYPT_COST && nanos > targetNanos) {
+            cost--;
+            nanos /= 2;
+        }
+        int calibratedCost = Math.clamp(cost, minCost, maxCost);
+        LOG.info(
+            "BCrypt cost calibrated to {} (cost {} hashes in {} ms, target is {} ms)",
+            calibratedCost,
+            PROBE_COST,
+            probeNanos / 1_000_000.0,
+            targetNanos / 1_000_000
+        );
+        return calibratedCost;
+    }
+
+    /**
+     * Get the median time of hashing a password with the given cost.
+     *
+     * @param cost the BCrypt cost.
+     * @return the median hashing time, in nanoseconds.
+     */
+    public static long measure(int cost) {
+        var encoder = new BCryptPasswordEncoder(cost);
+        for (int i = 0; i < WARMUP_HASHES; i++) {
+            encoder.encode("calibration");
+        }
+        long[] nanos = new long[MEASURED_HASHES];
+        for (int i = 0; i < MEASURED_HASHES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASURED_HASHES / 2];
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.jhipster.sample.security;
+
+import io.github.jhipster.sample.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Supplier;
+import javax.cache.Cache;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} remembering the tokens it has already verified.
+ * <p>
+ * SPA clients send the same bearer token on every request: a token found in the cache skips parsing,
+ * signature verification and claim conversion. Only successfully decoded tokens are cached, keyed by
+ * the SHA-256 digest of the token so that raw tokens are never kept in memory, and each entry expires
+ * with its token (see {@link TokenExpiry}).
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    public static final String VERIFIED_JWTS_CACHE = "verifiedJwts";
+
+    private static final Base64.Encoder DIGEST_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtDecoder delegate;
+
+    private final Cache<String, Jwt> cache;
+
+    private final SecurityMetersService metersService;
+
+    public CachingJwtDecoder(JwtDecoder delegate, Cache<String, Jwt> cache, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.metersService = metersService;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = digest(token);
+        Jwt jwt = cache.get(key);
+        if (jwt != null) {
+            metersService.trackTokenCacheHit();
+            return jwt;
+        }
+        metersService.trackTokenCacheMiss();
+        jwt = delegate.decode(token);
+        cache.put(key, jwt);
+        return jwt;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return DIGEST_ENCODER.encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each cached token at its {@code exp} claim, capped to a maximum time to live.
+     */
+    public static class TokenExpiry implements ExpiryPolicy<String, Jwt> {
+
+        private final Duration maxTimeToLive;
+
+        public TokenExpiry(Duration maxTimeToLive) {
+            this.maxTimeToLive = maxTimeToLive;
+        }
+
+        @Override
+        public Duration getExpiryForCreation(String key, Jwt jwt) {
+            Instant expiresAt = jwt.getExpiresAt();
+            if (expiresAt == null) {
+                return maxTimeToLive;
+            }
+            Duration remaining = Duration.between(Instant.now(), expiresAt);
+            if (remaining.isNegative()) {
+                return Duration.ZERO;
+            }
+            return remaining.compareTo(maxTimeToLive) < 0 ? remaining : maxTimeToLive;
+        }
+
+        @Override
+        public Duration getExpiryForAccess(String key, Supplier<? extends Jwt> jwt) {
+            return null;
+        }
+
+        @Override
+        public Duration getExpiryForUpdate(String key, Supplier<? extends Jwt> oldJwt, Jwt newJwt) {
+            return getExpiryForCreation(key, newJwt);
+        }
+    }
+}
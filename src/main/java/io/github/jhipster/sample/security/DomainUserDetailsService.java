@@ -1,12 +1,14 @@
 package io.github.jhipster.sample.security;
 
-import io.github.jhipster.sample.domain.Authority;
-import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.domain.UserPrincipal;
+import io.github.jhipster.sample.management.SecurityMetersService;
 import io.github.jhipster.sample.repository.UserRepository;
 import java.util.*;
 import org.hibernate.validator.internal.constraintvalidators.bv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,6 +19,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Authenticate a user from the database.
+ * <p>
+ * Logins and emails not belonging to any user are remembered in the {@link UserRepository#UNKNOWN_USERS_CACHE} cache,
+ * so that repeated attempts with unknown usernames are rejected without querying the database.
  */
 @Component("userDetailsService")
 public class DomainUserDetailsService implements UserDetailsService {
@@ -25,8 +30,14 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final CacheManager cacheManager;
+
+    private final SecurityMetersService metersService;
+
+    public DomainUserDetailsService(UserRepository userRepository, CacheManager cacheManager, SecurityMetersService metersService) {
         this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.metersService = metersService;
     }
 
     @Override
@@ -34,25 +45,41 @@ public class DomainUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(final String login) {
         LOG.debug("Authenticating {}", login);
 
+        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+        Cache unknownUsers = cacheManager.getCache(UserRepository.UNKNOWN_USERS_CACHE);
+        if (unknownUsers != null && unknownUsers.get(lowercaseLogin) != null) {
+            metersService.trackUnknownUserFromCache();
+            throw new UsernameNotFoundException("User " + lowercaseLogin + " is unknown");
+        }
+
         if (new EmailValidator().isValid(login, null)) {
             return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
-                .map(user -> createSpringSecurityUser(login, user))
-                .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
+                .findPrincipalByEmailIgnoreCase(lowercaseLogin)
+                .map(principal -> createSpringSecurityUser(login, principal))
+                .orElseThrow(() ->
+                    userNotFound(unknownUsers, lowercaseLogin, "User with email " + login + " was not found in the database")
+                );
         }
 
-        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
         return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
-            .map(user -> createSpringSecurityUser(lowercaseLogin, user))
-            .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
+            .findPrincipalByLogin(lowercaseLogin)
+            .map(principal -> createSpringSecurityUser(lowercaseLogin, principal))
+            .orElseThrow(() -> userNotFound(unknownUsers, lowercaseLogin, "User " + lowercaseLogin + " was not found in the database"));
+    }
+
+    private UsernameNotFoundException userNotFound(Cache unknownUsers, String lowercaseLogin, String message) {
+        metersService.trackUnknownUserFromDatabase();
+        if (unknownUsers != null) {
+            unknownUsers.put(lowercaseLogin, Boolean.TRUE);
+        }
+        return new UsernameNotFoundException(message);
     }
 
-    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
-        if (!user.isActivated()) {
+    private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, UserPrincipal principal) {
+        if (!principal.activated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
         }
-        return UserWithId.fromUser(user);
+        return UserWithId.fromPrincipal(principal);
     }
 
     public static class UserWithId extends org.springframework.security.core.userdetails.User {
@@ -78,12 +105,12 @@ public class DomainUserDetailsService implements UserDetailsService {
             return super.hashCode();
         }
 
-        public static UserWithId fromUser(User user) {
+        public static UserWithId fromPrincipal(UserPrincipal principal) {
             return new UserWithId(
-                user.getLogin(),
-                user.getPassword(),
-                user.getAuthorities().stream().map(Authority::getName).map(SimpleGrantedAuthority::new).toList(),
-                user.getId()
+                principal.login(),
+                principal.password(),
+                principal.authorities().stream().map(SimpleGrantedAuthority::new).toList(),
+                principal.id()
             );
         }
     }
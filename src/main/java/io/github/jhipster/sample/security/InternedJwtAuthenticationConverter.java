@@ -0,0 +1,112 @@
+package io.github.jhipster.sample.security;
+
+import static io.github.jhipster.sample.security.SecurityUtils.AUTHORITIES_CLAIM;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.FactorGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Converts a {@link Jwt} into an authentication whose authorities come from the {@code auth} claim.
+ * <p>
+ * Tokens of users with the same roles carry the same claim, so the {@link AuthoritySet} parsed from a claim, a
+ * space-separated string or a list, is cached and shared: a request allocates neither the split claim nor the
+ * authorities, and the authentication token does not copy them. Like the default Spring Security converter, the
+ * {@code FACTOR_BEARER} authority is added to the claimed ones.
+ */
+public class InternedJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    private static final int MAX_CACHED_CLAIMS = 1024;
+
+    // Shared as well, so its issue time is the creation time of the converter: factor freshness is not checked in this application
+    private final GrantedAuthority bearerFactor = AuthoritySet.intern(
+        FactorGrantedAuthority.fromAuthority(FactorGrantedAuthority.BEARER_AUTHORITY)
+    );
+
+    // Keyed by the claim string, or by the list of authority names of list claims
+    private final Map<Object, AuthoritySet> authoritiesByClaim = new ConcurrentHashMap<>();
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        return new InternedJwtAuthenticationToken(jwt, getAuthorities(jwt));
+    }
+
+    AuthoritySet getAuthorities(Jwt jwt) {
+        Object claim = jwt.getClaims().get(AUTHORITIES_CLAIM);
+        Object key = claim != null ? claim : "";
+        AuthoritySet authorities = authoritiesByClaim.get(key);
+        if (authorities == null) {
+            List<String> names;
+            if (claim instanceof Collection<?> values) {
+                names = values.stream().map(String::valueOf).toList();
+                // The claim may be mutable, the names are not and equal the claim when it only holds strings
+                key = names;
+            } else {
+                names = List.of(key.toString().split(" "));
+            }
+            authorities = parse(names);
+            // Claims are signed, so their variety is bounded by the roles in the database: the bound is only a safeguard
+            if (authoritiesByClaim.size() < MAX_CACHED_CLAIMS) {
+                authoritiesByClaim.putIfAbsent(key, authorities);
+            }
+        }
+        return authorities;
+    }
+
+    private AuthoritySet parse(List<String> names) {
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size() + 1);
+        for (String name : names) {
+            if (!name.isBlank()) {
+                authorities.add(AuthoritySet.intern(name.strip()));
+            }
+        }
+        authorities.add(bearerFactor);
+        return AuthoritySet.copyOf(authorities);
+    }
+
+    /**
+     * {@link JwtAuthenticationToken} exposing the shared {@link AuthoritySet}. No authorities are given to the parent
+     * constructor, which would copy them into a new list, so equality and the string form are based on the shared set.
+     */
+    static class InternedJwtAuthenticationToken extends JwtAuthenticationToken {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final AuthoritySet authorities;
+
+        InternedJwtAuthenticationToken(Jwt jwt, AuthoritySet authorities) {
+            super(jwt, null, jwt.getSubject());
+            this.authorities = authorities;
+        }
+
+        @Override
+        public Collection<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof InternedJwtAuthenticationToken other && authorities.equals(other.authorities) && super.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + authorities.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + " [Name=" + getName() + ", Authenticated=" + isAuthenticated() + ", Authorities=" + authorities + "]";
+        }
+    }
+}
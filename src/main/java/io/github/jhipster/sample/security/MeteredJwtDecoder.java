@@ -0,0 +1,144 @@
+package io.github.jhipster.sample.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
+import io.github.jhipster.sample.management.SecurityMetersService;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * {@link JwtDecoder} timing decodes and counting rejected tokens by cause.
+ * <p>
+ * Failures are classified on the exception types thrown by the Nimbus decoder and on the error codes of the
+ * validators, never on messages. Failures of unknown cause are logged at most once per {@link #UNKNOWN_FAILURE_LOG_INTERVAL},
+ * with the number of failures suppressed in between, so that a flood of bad tokens cannot flood the logs.
+ */
+public class MeteredJwtDecoder implements JwtDecoder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MeteredJwtDecoder.class);
+
+    /**
+     * Error code added by {@link #withExpiredErrorCode(OAuth2TokenValidator, Clock)} to the errors of expired tokens.
+     */
+    public static final String EXPIRED_TOKEN_ERROR_CODE = "expired_token";
+
+    static final Duration UNKNOWN_FAILURE_LOG_INTERVAL = Duration.ofSeconds(10);
+
+    private final JwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final AtomicLong nextUnknownFailureLog = new AtomicLong(System.nanoTime());
+
+    private final LongAdder suppressedUnknownFailures = new LongAdder();
+
+    public MeteredJwtDecoder(JwtDecoder delegate, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        try {
+            Jwt jwt = delegate.decode(token);
+            metersService.recordTokenDecoded(System.nanoTime() - start);
+            return jwt;
+        } catch (JwtException e) {
+            Failure failure = Failure.of(e);
+            metersService.recordTokenRejected(failure.cause, System.nanoTime() - start);
+            if (failure == Failure.UNKNOWN) {
+                logUnknownFailure(e);
+            }
+            throw e;
+        }
+    }
+
+    private void logUnknownFailure(JwtException e) {
+        long now = System.nanoTime();
+        long next = nextUnknownFailureLog.get();
+        if (now - next >= 0 && nextUnknownFailureLog.compareAndSet(next, now + UNKNOWN_FAILURE_LOG_INTERVAL.toNanos())) {
+            LOG.warn("Unknown JWT error {} ({} similar errors suppressed)", e.getMessage(), suppressedUnknownFailures.sumThenReset());
+        } else {
+            suppressedUnknownFailures.increment();
+        }
+    }
+
+    /**
+     * Decorate a validator so that its result tells expired tokens apart: when the validation of a token whose
+     * {@code exp} is in the past fails, an {@link #EXPIRED_TOKEN_ERROR_CODE} error is added to the result.
+     *
+     * @param validator the validator to decorate.
+     * @param clock the clock telling whether a token is expired.
+     * @return the decorated validator.
+     */
+    public static OAuth2TokenValidator<Jwt> withExpiredErrorCode(OAuth2TokenValidator<Jwt> validator, Clock clock) {
+        return jwt -> {
+            OAuth2TokenValidatorResult result = validator.validate(jwt);
+            Instant expiresAt = jwt.getExpiresAt();
+            if (!result.hasErrors() || expiresAt == null || !expiresAt.isBefore(clock.instant())) {
+                return result;
+            }
+            List<OAuth2Error> errors = new ArrayList<>(result.getErrors());
+            errors.add(new OAuth2Error(EXPIRED_TOKEN_ERROR_CODE, "Jwt expired", null));
+            return OAuth2TokenValidatorResult.failure(errors);
+        };
+    }
+
+    enum Failure {
+        INVALID_SIGNATURE("invalid-signature"),
+        EXPIRED("expired"),
+        MALFORMED("malformed"),
+        UNSUPPORTED("unsupported"),
+        UNKNOWN("unknown");
+
+        private final String cause;
+
+        Failure(String cause) {
+            this.cause = cause;
+        }
+
+        static Failure of(JwtException e) {
+            if (e instanceof JwtValidationException validationException) {
+                boolean expired = validationException
+                    .getErrors()
+                    .stream()
+                    .anyMatch(error -> EXPIRED_TOKEN_ERROR_CODE.equals(error.getErrorCode()));
+                return expired ? EXPIRED : UNKNOWN;
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof ParseException || (cause != null && cause.getCause() instanceof ParseException)) {
+                return MALFORMED;
+            }
+            if (cause instanceof BadJWSException) {
+                return INVALID_SIGNATURE;
+            }
+            if (cause instanceof BadJOSEException || cause instanceof JOSEException) {
+                // No key for the algorithm of the token, or an encrypted token
+                return UNSUPPORTED;
+            }
+            if (cause == null && e.getClass() == BadJwtException.class) {
+                // Unsigned tokens are rejected before verification
+                return UNSUPPORTED;
+            }
+            return UNKNOWN;
+        }
+    }
+}
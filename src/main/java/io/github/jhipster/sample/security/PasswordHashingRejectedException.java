@@ -0,0 +1,21 @@
+package io.github.jhipster.sample.security;
+
+import java.io.Serial;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This exception is thrown when the password hashing queue is full, clients should retry later.
+ */
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS, reason = "Too many password verifications in progress")
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final long RETRY_AFTER_SECONDS = 1;
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
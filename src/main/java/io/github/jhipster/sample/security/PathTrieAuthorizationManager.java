@@ -0,0 +1,218 @@
+package io.github.jhipster.sample.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+/**
+ * Authorizes requests with an ordered list of path rules, like {@code authorizeHttpRequests(authz -> authz.requestMatchers(...))}
+ * does, without testing the rules one after the other.
+ * <p>
+ * The rules are compiled once into a trie of path segments: a request walks down the trie once, collecting the rules
+ * ending at the nodes it goes through, and the first declared rule matching the request decides, as with
+ * {@link org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager}. Requests
+ * matching no rule are denied. Paths are read as {@link org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher}
+ * reads them, so both give the same decisions. Only the pattern shapes used by this application are supported:
+ * literal segments, optionally ending with {@code /**} or with a {@code *.suffix} segment.
+ */
+public final class PathTrieAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision DENY = new AuthorizationDecision(false);
+
+    private static final String CATCH_ALL = "**";
+
+    private static final String WILDCARD = "*";
+
+    private final Node root = new Node();
+
+    private final List<Rule> rules;
+
+    private PathTrieAuthorizationManager(List<Rule> rules) {
+        this.rules = List.copyOf(rules);
+        for (int order = 0; order < rules.size(); order++) {
+            add(rules.get(order), order);
+        }
+        root.computeFirstOrder();
+    }
+
+    /**
+     * Compile rules, in the order they would be declared with {@code requestMatchers}.
+     *
+     * @param rules the rules.
+     * @return the authorization manager.
+     * @throws IllegalArgumentException if a pattern is not supported.
+     */
+    public static PathTrieAuthorizationManager of(List<Rule> rules) {
+        return new PathTrieAuthorizationManager(rules);
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    @Override
+    public @Nullable AuthorizationResult authorize(Supplier<? extends Authentication> authentication, RequestAuthorizationContext context) {
+        Rule rule = match(context.getRequest());
+        return rule != null ? rule.manager().authorize(authentication, context) : DENY;
+    }
+
+    /**
+     * Find the first rule matching a request.
+     *
+     * @param request the request.
+     * @return the rule, or {@code null} if none matches.
+     */
+    public @Nullable Rule match(HttpServletRequest request) {
+        List<PathContainer.Element> elements = pathWithinApplication(request).elements();
+        String method = request.getMethod();
+        int size = elements.size();
+        Entry best = null;
+        Node node = root;
+        int index = 0;
+        while (true) {
+            // "/**" matches the end of the path, or a separator followed by anything
+            if (index == size || elements.get(index) instanceof PathContainer.Separator) {
+                best = first(node.catchAll, method, best);
+            }
+            if (index == size) {
+                best = first(node.exact, method, best);
+            }
+            if (index + 1 >= size || !(elements.get(index) instanceof PathContainer.Separator)) {
+                break;
+            }
+            if (!(elements.get(index + 1) instanceof PathContainer.PathSegment segment)) {
+                break;
+            }
+            String value = segment.valueToMatch();
+            if (index + 2 == size) {
+                for (Entry suffix : node.suffixes) {
+                    if ((best == null || suffix.order < best.order) && suffix.matches(method) && value.endsWith(suffix.suffix)) {
+                        best = suffix;
+                    }
+                }
+            }
+            node = node.children.get(value);
+            if (node == null || (best != null && best.order < node.firstOrder)) {
+                break;
+            }
+            index += 2;
+        }
+        return best != null ? best.rule : null;
+    }
+
+    private static PathContainer pathWithinApplication(HttpServletRequest request) {
+        RequestPath path;
+        if (ServletRequestPathUtils.hasParsedRequestPath(request)) {
+            path = ServletRequestPathUtils.getParsedRequestPath(request);
+        } else {
+            path = ServletRequestPathUtils.parseAndCache(request);
+            ServletRequestPathUtils.clearParsedRequestPath(request);
+        }
+        return path.pathWithinApplication();
+    }
+
+    private static @Nullable Entry first(List<Entry> entries, String method, @Nullable Entry best) {
+        for (Entry entry : entries) {
+            if (best != null && best.order < entry.order) {
+                return best;
+            }
+            if (entry.matches(method)) {
+                return entry;
+            }
+        }
+        return best;
+    }
+
+    private void add(Rule rule, int order) {
+        String pattern = rule.pattern();
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Pattern must start with a /: " + pattern);
+        }
+        String[] segments = pattern.substring(1).split("/", -1);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean last = i == segments.length - 1;
+            if (last && CATCH_ALL.equals(segment)) {
+                node.catchAll.add(new Entry(rule, order, null));
+                return;
+            }
+            if (last && segment.startsWith(WILDCARD) && segment.length() > 1 && isLiteral(segment.substring(1))) {
+                node.suffixes.add(new Entry(rule, order, segment.substring(1)));
+                return;
+            }
+            if (segment.isEmpty() || !isLiteral(segment)) {
+                throw new IllegalArgumentException("Unsupported pattern: " + pattern);
+            }
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        node.exact.add(new Entry(rule, order, null));
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '*' || c == '?' || c == '{' || c == '}' || c == ';' || c == '%') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A rule: requests with the given method (or any method if {@code null}) and a path matching the pattern are
+     * authorized by the manager.
+     */
+    public record Rule(@Nullable HttpMethod method, String pattern, AuthorizationManager<RequestAuthorizationContext> manager) {
+        public Rule(String pattern, AuthorizationManager<RequestAuthorizationContext> manager) {
+            this(null, pattern, manager);
+        }
+    }
+
+    private record Entry(Rule rule, int order, @Nullable String suffix) {
+        boolean matches(String method) {
+            return rule.method() == null || rule.method().matches(method);
+        }
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private final List<Entry> exact = new ArrayList<>();
+
+        private final List<Entry> catchAll = new ArrayList<>();
+
+        private final List<Entry> suffixes = new ArrayList<>();
+
+        /**
+         * Order of the first rule declared at this node or below, so that walks stop once they cannot find an earlier rule.
+         */
+        private int firstOrder = Integer.MAX_VALUE;
+
+        int computeFirstOrder() {
+            for (List<Entry> entries : List.of(exact, catchAll, suffixes)) {
+                for (Entry entry : entries) {
+                    firstOrder = Math.min(firstOrder, entry.order);
+                }
+            }
+            for (Node child : children.values()) {
+                firstOrder = Math.min(firstOrder, child.computeFirstOrder());
+            }
+            return firstOrder;
+        }
+    }
+}
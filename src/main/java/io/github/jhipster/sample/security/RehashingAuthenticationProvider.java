@@ -0,0 +1,83 @@
+package io.github.jhipster.sample.security;
+
+import io.github.jhipster.sample.security.DomainUserDetailsService.UserWithId;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link DaoAuthenticationProvider} upgrading outdated password hashes in the background.
+ * <p>
+ * When the password of a user matches a hash the password encoder considers outdated (e.g. hashed with a lower BCrypt
+ * cost), the password is hashed again on the given executor and handed to the {@link RehashListener} to be stored,
+ * along with the id of the user. The login itself only pays for the verification: the synchronous upgrade of the
+ * {@code DaoAuthenticationProvider}, through a {@code UserDetailsPasswordService}, is not used.
+ */
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RehashingAuthenticationProvider.class);
+
+    private final Executor executor;
+
+    private final Supplier<RehashListener> rehashListener;
+
+    public RehashingAuthenticationProvider(
+        UserDetailsService userDetailsService,
+        PasswordEncoder passwordEncoder,
+        Executor executor,
+        Supplier<RehashListener> rehashListener
+    ) {
+        super(userDetailsService);
+        setPasswordEncoder(passwordEncoder);
+        this.executor = executor;
+        this.rehashListener = rehashListener;
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication) {
+        super.additionalAuthenticationChecks(userDetails, authentication);
+        if (executor != null && userDetails instanceof UserWithId user && getPasswordEncoder().upgradeEncoding(user.getPassword())) {
+            rehash(user.getId(), authentication.getCredentials().toString(), user.getPassword());
+        }
+    }
+
+    private void rehash(Long userId, String rawPassword, String outdatedPassword) {
+        RehashListener listener = rehashListener.get();
+        if (listener == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    listener.rehashed(userId, outdatedPassword, getPasswordEncoder().encode(rawPassword));
+                } catch (RuntimeException e) {
+                    LOG.warn("Password rehash failed, it will be retried on next login: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Password rehash rejected, it will be retried on next login");
+        }
+    }
+
+    /**
+     * Stores upgraded password hashes.
+     */
+    @FunctionalInterface
+    public interface RehashListener {
+        /**
+         * Replace the password hash of a user, unless it has been changed in the meantime.
+         *
+         * @param userId the id of the user.
+         * @param outdatedPassword the outdated password hash.
+         * @param upgradedPassword the new hash of the same password.
+         */
+        void rehashed(Long userId, String outdatedPassword, String upgradedPassword);
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.jhipster.sample.security;
+
+import io.github.jhipster.sample.management.SecurityMetersService;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} rejecting the tokens of the {@link TokenRevocationList}.
+ * <p>
+ * It must decorate the {@link CachingJwtDecoder}, so that a token revoked after it was cached is rejected too.
+ */
+public class RevocationCheckingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final TokenRevocationList revocationList;
+
+    private final SecurityMetersService metersService;
+
+    public RevocationCheckingJwtDecoder(JwtDecoder delegate, TokenRevocationList revocationList, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.revocationList = revocationList;
+        this.metersService = metersService;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = delegate.decode(token);
+        if (revocationList.isRevoked(jwt.getId())) {
+            metersService.trackTokenRevoked();
+            throw new BadJwtException("An error occurred while attempting to decode the Jwt: Revoked token");
+        }
+        return jwt;
+    }
+}
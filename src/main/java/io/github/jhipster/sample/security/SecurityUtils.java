@@ -61,16 +61,20 @@ public final class SecurityUtils {
     }
 
     /**
-     * Get the Id of the current user.
+     * Get the Id of the current user, read from the {@link #USER_ID_CLAIM} claim of the validated token, so that the
+     * user can be looked up by primary key rather than by login.
      *
-     * @return the Id of the current user.
+     * @return the Id of the current user, empty if the principal carries no such claim.
      */
     public static Optional<Long> getCurrentUserId() {
-        SecurityContext securityContext = SecurityContextHolder.getContext();
-        return Optional.ofNullable(securityContext.getAuthentication())
-            .filter(authentication -> authentication.getPrincipal() instanceof ClaimAccessor)
-            .map(authentication -> (ClaimAccessor) authentication.getPrincipal())
-            .map(principal -> principal.getClaim(USER_ID_CLAIM));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof ClaimAccessor principal) {
+            Object userId = principal.getClaims().get(USER_ID_CLAIM);
+            if (userId instanceof Number number) {
+                return Optional.of(number.longValue());
+            }
+        }
+        return Optional.empty();
     }
 
     /**
@@ -80,7 +84,7 @@ public final class SecurityUtils {
      */
     public static boolean isAuthenticated() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication != null && getAuthorities(authentication).noneMatch(AuthoritiesConstants.ANONYMOUS::equals);
+        return authentication != null && !hasAnyOfAuthorities(authentication, AuthoritiesConstants.ANONYMOUS);
     }
 
     /**
@@ -91,9 +95,7 @@ public final class SecurityUtils {
      */
     public static boolean hasCurrentUserAnyOfAuthorities(String... authorities) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return (
-            authentication != null && getAuthorities(authentication).anyMatch(authority -> Arrays.asList(authorities).contains(authority))
-        );
+        return authentication != null && hasAnyOfAuthorities(authentication, authorities);
     }
 
     /**
@@ -116,6 +118,13 @@ public final class SecurityUtils {
         return hasCurrentUserAnyOfAuthorities(authority);
     }
 
+    private static boolean hasAnyOfAuthorities(Authentication authentication, String... authorities) {
+        if (authentication.getAuthorities() instanceof AuthoritySet authoritySet) {
+            return authoritySet.containsAny(authorities);
+        }
+        return getAuthorities(authentication).anyMatch(authority -> Arrays.asList(authorities).contains(authority));
+    }
+
     private static Stream<String> getAuthorities(Authentication authentication) {
         return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority);
     }
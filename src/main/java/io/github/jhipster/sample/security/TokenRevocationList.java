@@ -0,0 +1,165 @@
+package io.github.jhipster.sample.security;
+
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.RevokedToken;
+import io.github.jhipster.sample.repository.RevokedTokenRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Revoked JWTs, identified by their {@code jti} claim.
+ * <p>
+ * Revocations are persisted, and kept in memory as an exact map of ids to expiry instants fronted by a
+ * {@link BloomFilter}: the filter answers almost every lookup of a token that is not revoked without touching
+ * the map. Entries cannot be removed from a Bloom filter, so the filter and the map are rebuilt together on each
+ * {@link #refresh()}, which also prunes expired revocations and picks up the ones made by other instances.
+ * <p>
+ * Revocations are first loaded once the application is ready, then refreshed periodically. When Liquibase starts
+ * asynchronously, their table may not exist yet: refreshes then keep the revocations in memory until it is created.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final int expectedRevocations;
+
+    private final double falsePositiveProbability;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Clock clock;
+
+    private final AtomicBoolean tableMissing = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public TokenRevocationList(
+        RevokedTokenRepository revokedTokenRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this(revokedTokenRepository, applicationProperties, transactionManager, Clock.systemUTC());
+    }
+
+    TokenRevocationList(
+        RevokedTokenRepository revokedTokenRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        Clock clock
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        var tokenRevocation = applicationProperties.getSecurity().getTokenRevocation();
+        this.expectedRevocations = tokenRevocation.getExpectedRevocations();
+        this.falsePositiveProbability = tokenRevocation.getFalsePositiveProbability();
+        this.clock = clock;
+        this.snapshot = snapshot(Map.of());
+    }
+
+    /**
+     * Check if a token is revoked.
+     *
+     * @param jti the {@code jti} claim of the token, may be null for tokens issued without one.
+     * @return true if the token is revoked, false otherwise.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.filter.mightContain(jti) && current.revoked.containsKey(jti);
+    }
+
+    /**
+     * Revoke a token until it expires.
+     *
+     * @param jti the {@code jti} claim of the token.
+     * @param expiresAt the expiry instant of the token.
+     */
+    @Transactional
+    public void revoke(String jti, Instant expiresAt) {
+        revokedTokenRepository.save(new RevokedToken().jti(jti).expiresAt(expiresAt));
+        synchronized (this) {
+            Snapshot current = snapshot;
+            current.revoked.put(jti, expiresAt);
+            if (current.revoked.size() <= current.capacity) {
+                current.filter.add(jti);
+            } else {
+                snapshot = snapshot(current.revoked);
+            }
+        }
+        LOG.debug("Revoked token {} until {}", jti, expiresAt);
+    }
+
+    /**
+     * Delete the expired revocations and reload the others from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${application.security.token-revocation.refresh-interval:PT1M}",
+        fixedDelayString = "${application.security.token-revocation.refresh-interval:PT1M}"
+    )
+    public void refresh() {
+        Instant now = clock.instant();
+        Map<String, Instant> revoked = new HashMap<>();
+        Integer pruned;
+        try {
+            pruned = transactionTemplate.execute(status -> {
+                int deleted = revokedTokenRepository.deleteExpired(now);
+                for (RevokedToken revokedToken : revokedTokenRepository.findAllByExpiresAtAfter(now)) {
+                    revoked.put(revokedToken.getJti(), revokedToken.getExpiresAt());
+                }
+                return deleted;
+            });
+        } catch (InvalidDataAccessResourceUsageException e) {
+            if (tableMissing.compareAndSet(false, true)) {
+                LOG.warn("Could not load the revoked tokens, their table may not be created yet: {}", e.getMessage());
+            } else {
+                LOG.debug("Could not load the revoked tokens: {}", e.getMessage());
+            }
+            return;
+        }
+        if (tableMissing.compareAndSet(true, false)) {
+            LOG.info("Revoked tokens loaded");
+        }
+        synchronized (this) {
+            // Keep the revocations made while the database was read
+            snapshot.revoked.forEach((jti, expiresAt) -> {
+                if (expiresAt.isAfter(now)) {
+                    revoked.putIfAbsent(jti, expiresAt);
+                }
+            });
+            snapshot = snapshot(revoked);
+        }
+        LOG.debug("Reloaded {} revoked tokens, pruned {} expired ones", revoked.size(), pruned);
+    }
+
+    private Snapshot snapshot(Map<String, Instant> revoked) {
+        // Room to grow, so that revocations made until the next refresh do not degrade the filter
+        int capacity = Math.max(expectedRevocations, 2 * revoked.size());
+        var filter = new BloomFilter(capacity, falsePositiveProbability);
+        revoked.keySet().forEach(filter::add);
+        return new Snapshot(filter, new ConcurrentHashMap<>(revoked), capacity);
+    }
+
+    private record Snapshot(BloomFilter filter, Map<String, Instant> revoked, int capacity) {}
+}
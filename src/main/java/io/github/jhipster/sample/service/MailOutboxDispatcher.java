@@ -0,0 +1,268 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.OutgoingMail;
+import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.management.MailMetersService;
+import io.github.jhipster.sample.repository.OutgoingMailRepository;
+import io.github.jhipster.sample.repository.UserRepository;
+import io.github.jhipster.sample.service.MailTemplateRenderer.RenderedMail;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Sends the mails stored in the outbox by the {@link MailService}.
+ * <p>
+ * Each run claims the mails due in batches: a batch is locked, marked as attempted and committed, then its template
+ * mails are rendered by the {@link MailTemplateRenderer}, from their user as it is when sent, in parallel for the mails
+ * sharing a template and a language. The batch is then sent with one {@link JavaMailSender#send(MimeMessage...)} call,
+ * which sends every mail of the batch over a single SMTP connection. Sent mails are deleted; failed ones, including the
+ * ones failing to render, are attempted again later, with an exponential backoff, until the last attempt. Claimed mails
+ * are not attempted again before the claim timeout, so that a dispatcher stopping while sending a batch only delays it,
+ * and instances sharing the database do not send the same mails.
+ */
+@Service
+public class MailOutboxDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JavaMailSender javaMailSender;
+
+    private final OutgoingMailRepository outgoingMailRepository;
+
+    private final UserRepository userRepository;
+
+    private final MailTemplateRenderer mailTemplateRenderer;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final MailMetersService metersService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.MailOutbox outbox;
+
+    private final Clock clock;
+
+    @Autowired
+    public MailOutboxDispatcher(
+        JavaMailSender javaMailSender,
+        OutgoingMailRepository outgoingMailRepository,
+        UserRepository userRepository,
+        MailTemplateRenderer mailTemplateRenderer,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MailMetersService metersService,
+        PlatformTransactionManager transactionManager
+    ) {
+        this(
+            javaMailSender,
+            outgoingMailRepository,
+            userRepository,
+            mailTemplateRenderer,
+            jHipsterProperties,
+            applicationProperties,
+            metersService,
+            transactionManager,
+            Clock.systemUTC()
+        );
+    }
+
+    MailOutboxDispatcher(
+        JavaMailSender javaMailSender,
+        OutgoingMailRepository outgoingMailRepository,
+        UserRepository userRepository,
+        MailTemplateRenderer mailTemplateRenderer,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        MailMetersService metersService,
+        PlatformTransactionManager transactionManager,
+        Clock clock
+    ) {
+        this.javaMailSender = javaMailSender;
+        this.outgoingMailRepository = outgoingMailRepository;
+        this.userRepository = userRepository;
+        this.mailTemplateRenderer = mailTemplateRenderer;
+        this.jHipsterProperties = jHipsterProperties;
+        this.metersService = metersService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.outbox = applicationProperties.getMailOutbox();
+        this.clock = clock;
+    }
+
+    /**
+     * Send every mail due, batch after batch.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        List<OutgoingMail> batch;
+        do {
+            batch = transactionTemplate.execute(status -> claim());
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == outbox.getBatchSize());
+        metersService.updatePending(outgoingMailRepository.countByNextAttemptAtNotNull());
+    }
+
+    private List<OutgoingMail> claim() {
+        Instant now = clock.instant();
+        List<OutgoingMail> batch = outgoingMailRepository.findDueForUpdate(now, PageRequest.of(0, outbox.getBatchSize()));
+        Instant claimedUntil = now.plus(outbox.getClaimTimeout());
+        for (OutgoingMail mail : batch) {
+            mail.setAttempts(mail.getAttempts() + 1);
+            mail.setNextAttemptAt(claimedUntil);
+        }
+        return batch;
+    }
+
+    private void send(List<OutgoingMail> batch) {
+        Map<OutgoingMail, Exception> failures = new IdentityHashMap<>();
+        Map<OutgoingMail, RenderedMail> rendered = render(batch, failures);
+        // MimeMessage has identity equality, the batch is sent in order
+        Map<MimeMessage, OutgoingMail> messages = new LinkedHashMap<>();
+        for (OutgoingMail mail : batch) {
+            if (failures.containsKey(mail)) {
+                continue;
+            }
+            try {
+                messages.put(toMimeMessage(mail, rendered.get(mail)), mail);
+            } catch (MessagingException e) {
+                failures.put(mail, e);
+            }
+        }
+        if (!messages.isEmpty()) {
+            long start = System.nanoTime();
+            try {
+                javaMailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                // Lists the mails not sent, none when only closing the connection failed
+                e.getFailedMessages().forEach((message, exception) -> failures.put(messages.get(message), exception));
+            } catch (MailException e) {
+                messages.values().forEach(mail -> failures.put(mail, e));
+            }
+            metersService.recordBatch(messages.size(), System.nanoTime() - start);
+        }
+        transactionTemplate.executeWithoutResult(status -> complete(batch, failures));
+    }
+
+    private void complete(List<OutgoingMail> batch, Map<OutgoingMail, Exception> failures) {
+        Instant now = clock.instant();
+        List<Long> sent = new ArrayList<>();
+        List<OutgoingMail> failed = new ArrayList<>();
+        for (OutgoingMail mail : batch) {
+            Exception failure = failures.get(mail);
+            if (failure == null) {
+                sent.add(mail.getId());
+                continue;
+            }
+            mail.setLastError(error(failure));
+            if (mail.getAttempts() >= outbox.getMaxAttempts()) {
+                LOG.error("Email could not be sent to '{}' after {} attempts", mail.getRecipient(), mail.getAttempts(), failure);
+                mail.setNextAttemptAt(null);
+                metersService.trackAbandoned();
+            } else {
+                LOG.warn("Email could not be sent to '{}', attempt {}: {}", mail.getRecipient(), mail.getAttempts(), mail.getLastError());
+                mail.setNextAttemptAt(now.plus(backoff(mail.getAttempts())));
+                metersService.trackRetried();
+            }
+            failed.add(mail);
+        }
+        outgoingMailRepository.deleteAllByIdInBatch(sent);
+        outgoingMailRepository.saveAll(failed);
+        metersService.trackSent(sent.size());
+        LOG.debug("Sent {} emails, {} failed", sent.size(), failed.size());
+    }
+
+    /**
+     * Render the mails of the batch, the ones stored with their content as they are. Template mails are rendered
+     * together when they share their template and language. The mails whose rendering fails, or whose user is not
+     * found, are added to the failures.
+     */
+    private Map<OutgoingMail, RenderedMail> render(List<OutgoingMail> batch, Map<OutgoingMail, Exception> failures) {
+        Map<Long, User> users = userRepository
+            .findAllById(batch.stream().map(OutgoingMail::getUserId).filter(Objects::nonNull).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<OutgoingMail, RenderedMail> rendered = new IdentityHashMap<>();
+        Map<Template, List<OutgoingMail>> templates = new LinkedHashMap<>();
+        for (OutgoingMail mail : batch) {
+            if (mail.getTemplateName() == null) {
+                rendered.put(mail, new RenderedMail(mail.getRecipient(), mail.getSubject(), mail.getContent()));
+            } else if (!users.containsKey(mail.getUserId())) {
+                failures.put(mail, new IllegalStateException("User " + mail.getUserId() + " not found"));
+            } else {
+                var template = new Template(mail.getTemplateName(), mail.getTitleKey(), mail.getLangKey());
+                templates.computeIfAbsent(template, key -> new ArrayList<>()).add(mail);
+            }
+        }
+        templates.forEach((template, mails) -> {
+            try {
+                List<RenderedMail> mailsRendered = mailTemplateRenderer.renderAll(
+                    mails.stream().map(mail -> users.get(mail.getUserId())).toList(),
+                    template.name(),
+                    template.titleKey(),
+                    template.langKey()
+                );
+                for (int i = 0; i < mails.size(); i++) {
+                    rendered.put(mails.get(i), mailsRendered.get(i));
+                }
+            } catch (RuntimeException e) {
+                mails.forEach(mail -> failures.put(mail, e));
+            }
+        });
+        return rendered;
+    }
+
+    private MimeMessage toMimeMessage(OutgoingMail mail, RenderedMail rendered) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mail.isMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mail.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(rendered.subject());
+        message.setText(rendered.content(), mail.isHtml());
+        return mimeMessage;
+    }
+
+    /**
+     * Delay before the attempt following the given one: the initial backoff, doubled after each attempt.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = outbox.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(outbox.getMaxBackoff()) < 0 ? backoff : outbox.getMaxBackoff();
+    }
+
+    private static String error(Exception failure) {
+        String error = String.valueOf(failure.getMessage());
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private record Template(String name, String titleKey, String langKey) {}
+}
@@ -0,0 +1,156 @@
+package io.github.jhipster.sample.service;
+
+import io.github.jhipster.sample.domain.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Renders mails from the Thymeleaf templates in {@code templates/mail}.
+ * <p>
+ * What only depends on the template and the language is prepared once and cached: the locale parsed from the language
+ * key and the subject looked up in the message source. Parsed templates are cached by Thymeleaf itself, unless
+ * {@code spring.thymeleaf.cache} is off. The {@link MailOutboxDispatcher} renders the mails of a batch sharing a
+ * template and a language together: they are rendered in parallel on the {@code mailExecutor}, in chunks reusing one
+ * Thymeleaf context each.
+ */
+@Component
+public class MailTemplateRenderer {
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    /**
+     * Bound on the cached template and language pairs, language keys being chosen by the users.
+     */
+    private static final int MAX_PREPARED = 1000;
+
+    /**
+     * Smallest chunk rendered by one task, so that small batches are not split more than worth it.
+     */
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    private final ITemplateEngine templateEngine;
+
+    private final MessageSource messageSource;
+
+    private final String baseUrl;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    private final Map<Key, Prepared> prepared = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MailTemplateRenderer(
+        ITemplateEngine templateEngine,
+        MessageSource messageSource,
+        JHipsterProperties jHipsterProperties,
+        @Qualifier("mailExecutor") Executor executor
+    ) {
+        this(
+            templateEngine,
+            messageSource,
+            jHipsterProperties.getMail().getBaseUrl(),
+            executor,
+            Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    MailTemplateRenderer(ITemplateEngine templateEngine, MessageSource messageSource, String baseUrl, Executor executor, int parallelism) {
+        this.templateEngine = templateEngine;
+        this.messageSource = messageSource;
+        this.baseUrl = baseUrl;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Render the mails of many users in parallel.
+     *
+     * @param users the recipients.
+     * @param templateName the name of the template.
+     * @param titleKey the message key of the subject.
+     * @param langKey the language of the mails.
+     * @return the mails, in the order of the users.
+     */
+    public List<RenderedMail> renderAll(List<User> users, String templateName, String titleKey, String langKey) {
+        Prepared template = prepare(templateName, titleKey, langKey);
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (users.size() + parallelism - 1) / parallelism);
+        List<CompletableFuture<List<RenderedMail>>> chunks = new ArrayList<>();
+        for (int from = 0; from < users.size(); from += chunkSize) {
+            List<User> chunk = users.subList(from, Math.min(from + chunkSize, users.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> template.renderChunk(chunk), executor));
+        }
+        List<RenderedMail> mails = new ArrayList<>(users.size());
+        try {
+            chunks.forEach(chunk -> mails.addAll(chunk.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return mails;
+    }
+
+    private Prepared prepare(String templateName, String titleKey, String langKey) {
+        var key = new Key(templateName, titleKey, langKey);
+        Prepared template = prepared.get(key);
+        if (template == null) {
+            Locale locale = Locale.forLanguageTag(langKey);
+            template = new Prepared(templateName, locale, messageSource.getMessage(titleKey, null, locale));
+            if (prepared.size() < MAX_PREPARED) {
+                prepared.putIfAbsent(key, template);
+            }
+        }
+        return template;
+    }
+
+    /**
+     * A rendered mail.
+     */
+    public record RenderedMail(String to, String subject, String content) {}
+
+    private record Key(String templateName, String titleKey, String langKey) {}
+
+    private final class Prepared {
+
+        private final String templateName;
+
+        private final Locale locale;
+
+        private final String subject;
+
+        private Prepared(String templateName, Locale locale, String subject) {
+            this.templateName = templateName;
+            this.locale = locale;
+            this.subject = subject;
+        }
+
+        List<RenderedMail> renderChunk(List<User> users) {
+            Context context = new Context(locale);
+            context.setVariable(BASE_URL, baseUrl);
+            List<RenderedMail> mails = new ArrayList<>(users.size());
+            for (User user : users) {
+                context.setVariable(USER, user);
+                mails.add(new RenderedMail(user.getEmail(), subject, templateEngine.process(templateName, context)));
+            }
+            return mails;
+        }
+    }
+}
@@ -1,27 +1,41 @@
 package io.github.jhipster.sample.service;
 
+import io.github.jhipster.sample.config.ApplicationProperties;
 import io.github.jhipster.sample.config.Constants;
 import io.github.jhipster.sample.domain.Authority;
+import io.github.jhipster.sample.domain.JobCheckpoint;
 import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.domain.UserPrincipal;
+import io.github.jhipster.sample.management.UserCleanupMetersService;
 import io.github.jhipster.sample.repository.AuthorityRepository;
+import io.github.jhipster.sample.repository.JobCheckpointRepository;
 import io.github.jhipster.sample.repository.UserRepository;
 import io.github.jhipster.sample.security.AuthoritiesConstants;
 import io.github.jhipster.sample.security.SecurityUtils;
 import io.github.jhipster.sample.service.dto.AdminUserDTO;
 import io.github.jhipster.sample.service.dto.UserDTO;
+import io.github.jhipster.sample.service.lease.LeaseService;
+import io.github.jhipster.sample.service.lease.Leased;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -33,6 +47,8 @@ public class UserService {
 
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
+    static final String REMOVE_NOT_ACTIVATED_USERS_JOB = "removeNotActivatedUsers";
+
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
@@ -41,16 +57,40 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final JobCheckpointRepository jobCheckpointRepository;
+
+    private final UserCleanupMetersService cleanupMetersService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.UserCleanup userCleanup;
+
+    private final LeaseService leaseService;
+
+    private final MailService mailService;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        JobCheckpointRepository jobCheckpointRepository,
+        UserCleanupMetersService cleanupMetersService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        LeaseService leaseService,
+        MailService mailService
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.cleanupMetersService = cleanupMetersService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userCleanup = applicationProperties.getUserCleanup();
+        this.leaseService = leaseService;
+        this.mailService = mailService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -89,6 +129,7 @@ public class UserService {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
                 this.clearUserCaches(user);
+                mailService.sendPasswordResetMail(user);
                 return user;
             });
     }
@@ -131,6 +172,7 @@ public class UserService {
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
         this.clearUserCaches(newUser);
+        mailService.sendActivationEmail(newUser);
         LOG.debug("Created Information for User: {}", newUser);
         return newUser;
     }
@@ -176,6 +218,7 @@ public class UserService {
         }
         userRepository.save(user);
         this.clearUserCaches(user);
+        mailService.sendCreationEmail(user);
         LOG.debug("Created Information for User: {}", user);
         return user;
     }
@@ -270,6 +313,21 @@ public class UserService {
             });
     }
 
+    /**
+     * Replace an outdated password hash by its upgraded version, unless the password has been changed in the meantime.
+     *
+     * @param userId the id of the user.
+     * @param outdatedPassword the outdated password hash.
+     * @param upgradedPassword the new hash of the same password.
+     */
+    @Transactional
+    public void upgradePasswordHash(Long userId, String outdatedPassword, String upgradedPassword) {
+        if (userRepository.updatePasswordIfUnchanged(userId, outdatedPassword, upgradedPassword) > 0) {
+            userRepository.findCacheKeysById(userId).ifPresent(user -> clearUserCaches(List.of(user)));
+            LOG.debug("Upgraded password hash for User: {}", userId);
+        }
+    }
+
     @Transactional(readOnly = true)
     public Page<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
@@ -282,28 +340,103 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
-        return userRepository.findOneWithAuthoritiesByLogin(login);
+        return userRepository.findPrincipalByLogin(login).flatMap(this::getUserWithAuthorities);
     }
 
+    /**
+     * Get the current user, by the id of the token when it has one, otherwise by login.
+     */
     @Transactional(readOnly = true)
     public Optional<User> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+        return SecurityUtils.getCurrentUserId()
+            .map(this::getUserWithAuthorities)
+            .orElseGet(() -> SecurityUtils.getCurrentUserLogin().flatMap(this::getUserWithAuthoritiesByLogin));
+    }
+
+    private Optional<User> getUserWithAuthorities(UserPrincipal principal) {
+        return getUserWithAuthorities(principal.id());
+    }
+
+    /**
+     * Load a user by id, so that it is read from the Hibernate second level cache.
+     */
+    private Optional<User> getUserWithAuthorities(Long id) {
+        return userRepository
+            .findById(id)
+            .map(user -> {
+                Hibernate.initialize(user.getAuthorities());
+                return user;
+            });
     }
 
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
      * This is scheduled to get fired every day, at 01:00 (am).
+     * <p>
+     * Users are deleted by chunks of increasing ids, each chunk in its own transaction, unless called within one: the
+     * authorities then the users of the chunk are deleted with one statement each, and the last id of the chunk is
+     * committed with them as a {@link JobCheckpoint}, so that an interrupted run resumes after the last chunk deleted.
+     * Users of an interrupted run not deleted before the checkpoint are deleted by the next complete run.
+     * <p>
+     * It runs on one instance at a time, holding its lease: each chunk checks the lease was not lost before committing.
      */
     @Scheduled(cron = "0 0 1 * * ?")
+    @Leased
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                LOG.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
-                this.clearUserCaches(user);
-            });
+        Instant createdBefore = Instant.now().minus(3, ChronoUnit.DAYS);
+        long afterId = jobCheckpointRepository.findById(REMOVE_NOT_ACTIVATED_USERS_JOB).map(JobCheckpoint::getLastId).orElse(0L);
+        if (afterId > 0) {
+            LOG.info("Resuming the deletion of not activated users after user {}", afterId);
+        }
+        long start = System.nanoTime();
+        long rows = 0;
+        DeletedChunk chunk;
+        do {
+            long chunkStart = System.nanoTime();
+            long from = afterId;
+            chunk = transactionTemplate.execute(status -> removeNotActivatedUsers(from, createdBefore));
+            if (chunk.users().isEmpty()) {
+                break;
+            }
+            cleanupMetersService.recordChunk(chunk.deletedUsers(), chunk.deletedAuthorities(), System.nanoTime() - chunkStart);
+            clearUserCaches(chunk.users());
+            rows += chunk.deletedUsers() + chunk.deletedAuthorities();
+            afterId = chunk.users().getLast().id();
+            LOG.debug("Deleted {} not activated users, up to user {}", chunk.deletedUsers(), afterId);
+        } while (chunk.users().size() == userCleanup.getChunkSize());
+        cleanupMetersService.recordRun(rows, System.nanoTime() - start);
+        if (rows > 0) {
+            LOG.info("Deleted not activated users: {} rows in {} ms", rows, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private DeletedChunk removeNotActivatedUsers(long afterId, Instant createdBefore) {
+        leaseService.checkHeld();
+        List<UserRepository.CacheKeys> users = userRepository.findNotActivatedAfter(
+            afterId,
+            createdBefore,
+            Limit.of(userCleanup.getChunkSize())
+        );
+        if (users.size() < userCleanup.getChunkSize()) {
+            jobCheckpointRepository.deleteById(REMOVE_NOT_ACTIVATED_USERS_JOB);
+        }
+        if (users.isEmpty()) {
+            return new DeletedChunk(users, 0, 0);
+        }
+        long lastId = users.getLast().id();
+        int deletedAuthorities = userRepository.deleteNotActivatedAuthoritiesBetween(afterId, lastId, createdBefore);
+        int deletedUsers = userRepository.deleteNotActivatedBetween(afterId, lastId, createdBefore);
+        if (users.size() == userCleanup.getChunkSize()) {
+            jobCheckpointRepository.save(
+                jobCheckpointRepository
+                    .findById(REMOVE_NOT_ACTIVATED_USERS_JOB)
+                    .orElseGet(() -> new JobCheckpoint().name(REMOVE_NOT_ACTIVATED_USERS_JOB))
+                    .lastId(lastId)
+            );
+        }
+        return new DeletedChunk(users, deletedUsers, deletedAuthorities);
     }
 
     /**
@@ -320,5 +453,38 @@ public class UserService {
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evictIfPresent(user.getEmail());
         }
+        Cache unknownUsers = cacheManager.getCache(UserRepository.UNKNOWN_USERS_CACHE);
+        if (unknownUsers != null) {
+            unknownUsers.evictIfPresent(user.getLogin());
+            if (user.getEmail() != null) {
+                unknownUsers.evictIfPresent(user.getEmail());
+            }
+        }
+    }
+
+    private void clearUserCaches(List<UserRepository.CacheKeys> users) {
+        Set<String> logins = users.stream().map(UserRepository.CacheKeys::login).collect(Collectors.toSet());
+        Set<String> emails = users.stream().map(UserRepository.CacheKeys::email).filter(Objects::nonNull).collect(Collectors.toSet());
+        evictAll(Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)), logins);
+        evictAll(Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)), emails);
+        Cache unknownUsers = cacheManager.getCache(UserRepository.UNKNOWN_USERS_CACHE);
+        if (unknownUsers != null) {
+            evictAll(unknownUsers, logins);
+            evictAll(unknownUsers, emails);
+        }
+    }
+
+    /**
+     * Evict the keys with one call to the JCache provider when possible, instead of one call per key.
+     */
+    @SuppressWarnings("unchecked")
+    private static void evictAll(Cache cache, Set<String> keys) {
+        if (cache.getNativeCache() instanceof javax.cache.Cache<?, ?> nativeCache) {
+            ((javax.cache.Cache<Object, Object>) nativeCache).removeAll(Set.copyOf(keys));
+        } else {
+            keys.forEach(cache::evictIfPresent);
+        }
     }
+
+    private record DeletedChunk(List<UserRepository.CacheKeys> users, int deletedUsers, int deletedAuthorities) {}
 }
@@ -0,0 +1,12 @@
+package io.github.jhipster.sample.service.lease;
+
+import java.time.Duration;
+
+/**
+ * A lease acquired by this instance.
+ *
+ * @param name the name of the lease.
+ * @param token the fencing token of this acquisition, greater than the ones of the previous acquisitions.
+ * @param ttl the time to live of the lease, from its last renewal.
+ */
+public record Lease(String name, long token, Duration ttl) {}
@@ -0,0 +1,123 @@
+package io.github.jhipster.sample.service.lease;
+
+import io.github.jhipster.sample.management.LeaseMetersService;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Aspect running the methods annotated with {@link Leased} while holding their lease.
+ * <p>
+ * It applies before the transaction advice, so that the lease is acquired before and released after the transaction
+ * of the method. When the method is called within a transaction, the lease is released once that transaction completes,
+ * as its row stays locked until then, see {@link LeaseService#checkHeld()}.
+ */
+@Aspect
+public class LeaseAspect implements Ordered, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeaseAspect.class);
+
+    private final LeaseService leaseService;
+
+    private final LeaseMetersService metersService;
+
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("lease-renewal").daemon().factory()
+    );
+
+    private final Map<Method, Duration> ttls = new ConcurrentHashMap<>();
+
+    public LeaseAspect(LeaseService leaseService, LeaseMetersService metersService) {
+        this.leaseService = leaseService;
+        this.metersService = metersService;
+    }
+
+    @Override
+    public int getOrder() {
+        // Before the transaction advisor, ordered last
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+
+    @Around("@annotation(leased)")
+    public Object lease(ProceedingJoinPoint joinPoint, Leased leased) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String name = leased.name().isEmpty() ? signature.getDeclaringType().getSimpleName() + "." + signature.getName() : leased.name();
+        Duration ttl = ttls.computeIfAbsent(signature.getMethod(), method -> Duration.parse(leased.ttl()));
+        Optional<Lease> acquired = leaseService.tryAcquire(name, ttl);
+        if (acquired.isEmpty()) {
+            LOG.debug("Skipping {}, its lease is held by another instance", name);
+            return null;
+        }
+        Lease lease = acquired.orElseThrow();
+        long renewalPeriod = Math.max(1, ttl.toMillis() / 3);
+        ScheduledFuture<?> renewal = renewals.scheduleAtFixedRate(() -> renew(lease), renewalPeriod, renewalPeriod, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        leaseService.bind(lease);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            leaseService.unbind();
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Called within a transaction, which keeps the row of the lease locked until it completes
+                TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            release(lease, renewal, start);
+                        }
+                    }
+                );
+            } else {
+                release(lease, renewal, start);
+            }
+        }
+    }
+
+    private void release(Lease lease, ScheduledFuture<?> renewal, long start) {
+        renewal.cancel(false);
+        try {
+            leaseService.release(lease);
+        } catch (DataAccessException | TransactionException e) {
+            LOG.warn("Could not release the lease {}, it expires in {}: {}", lease.name(), lease.ttl(), e.getMessage());
+        }
+        metersService.recordHeld(lease.name(), System.nanoTime() - start);
+    }
+
+    private void renew(Lease lease) {
+        boolean renewed;
+        try {
+            renewed = leaseService.renew(lease);
+        } catch (DataAccessException | TransactionException e) {
+            LOG.warn("Could not renew the lease {}, trying again: {}", lease.name(), e.getMessage());
+            return;
+        }
+        if (!renewed) {
+            LOG.error("Lost the lease {} with fencing token {}, the job stops at its next check", lease.name(), lease.token());
+            // Stops the renewal
+            throw new LeaseLostException(lease);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        renewals.shutdownNow();
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.jhipster.sample.service.lease;
+
+import java.io.Serial;
+
+/**
+ * Thrown when a lease expired or was acquired by another instance while its job was running.
+ */
+public class LeaseLostException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public LeaseLostException(Lease lease) {
+        super("Lost the lease " + lease.name() + " with fencing token " + lease.token());
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.jhipster.sample.service.lease;
+
+import io.github.jhipster.sample.domain.JobLease;
+import io.github.jhipster.sample.management.LeaseMetersService;
+import io.github.jhipster.sample.repository.JobLeaseRepository;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Leases backed by the {@code jhi_job_lease} table, so that a job runs on one instance at a time.
+ * <p>
+ * A lease is acquired for a time to live by updating its row once expired, or by inserting it, and each acquisition
+ * increments its fencing token: a holder which lost its lease, e.g. after a pause longer than the time to live, finds
+ * a greater token and does not write. The transactions writing for a job lock the row of its lease, see
+ * {@link #checkHeld()}, so that no write of a former holder commits once the lease was acquired again. Leases expire
+ * according to the clocks of the instances, which should agree within a small fraction of the time to live.
+ * <p>
+ * Leases are acquired, renewed and released in their own transactions, committed before the job writes anything.
+ */
+@Service
+public class LeaseService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LeaseService.class);
+
+    private static final ThreadLocal<Lease> CURRENT = new ThreadLocal<>();
+
+    private final JobLeaseRepository jobLeaseRepository;
+
+    private final LeaseMetersService metersService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    public LeaseService(
+        JobLeaseRepository jobLeaseRepository,
+        LeaseMetersService metersService,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.metersService = metersService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Acquire a lease, unless it is held by another instance.
+     *
+     * @param name the name of the lease.
+     * @param ttl the time to live of the lease.
+     * @return the lease acquired, empty when held by another instance.
+     */
+    public Optional<Lease> tryAcquire(String name, Duration ttl) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(ttl);
+        Long token = transactionTemplate.execute(status ->
+            jobLeaseRepository.acquireExpired(name, owner, now, expiresAt) == 1
+                ? jobLeaseRepository.findById(name).map(JobLease::getToken).orElseThrow()
+                : null
+        );
+        if (token == null && !Boolean.TRUE.equals(transactionTemplate.execute(status -> jobLeaseRepository.existsById(name)))) {
+            try {
+                token = transactionTemplate.execute(status ->
+                    jobLeaseRepository.saveAndFlush(new JobLease().name(name).owner(owner).token(1L).expiresAt(expiresAt)).getToken()
+                );
+            } catch (DataIntegrityViolationException e) {
+                LOG.debug("Lease {} created by another instance meanwhile", name);
+            }
+        }
+        metersService.trackAcquisition(name, token != null);
+        return Optional.ofNullable(token).map(acquired -> new Lease(name, acquired, ttl));
+    }
+
+    /**
+     * Extend a lease for its time to live, unless it was lost.
+     *
+     * @param lease the lease.
+     * @return {@code true} when renewed, {@code false} when lost.
+     */
+    public boolean renew(Lease lease) {
+        Instant now = Instant.now();
+        boolean renewed = Boolean.TRUE.equals(
+            transactionTemplate.execute(status -> jobLeaseRepository.renew(lease.name(), lease.token(), now, now.plus(lease.ttl())) == 1)
+        );
+        metersService.trackRenewal(lease.name(), renewed);
+        return renewed;
+    }
+
+    /**
+     * Release a lease, so that another instance can acquire it without waiting for it to expire.
+     *
+     * @param lease the lease.
+     */
+    public void release(Lease lease) {
+        transactionTemplate.executeWithoutResult(status -> jobLeaseRepository.release(lease.name(), lease.token(), Instant.now()));
+    }
+
+    /**
+     * @return the lease held by the job running in the current thread, if any.
+     */
+    public Optional<Lease> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Check that the lease held by the job running in the current thread, if any, was not lost, and fence it: called in
+     * the transaction of the writes of the job, it locks the row of the lease in share mode until that transaction ends,
+     * so that another instance acquiring the lease meanwhile waits for the writes to be committed or rolled back.
+     * Renewals wait as well, so such a transaction should last well under the time to live of the lease.
+     *
+     * @throws LeaseLostException if the lease expired or was acquired by another instance.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void checkHeld() {
+        Lease lease = CURRENT.get();
+        if (lease != null && jobLeaseRepository.findHeldForShare(lease.name(), lease.token(), Instant.now()).isEmpty()) {
+            throw new LeaseLostException(lease);
+        }
+    }
+
+    void bind(Lease lease) {
+        CURRENT.set(lease);
+    }
+
+    void unbind() {
+        CURRENT.remove();
+    }
+}
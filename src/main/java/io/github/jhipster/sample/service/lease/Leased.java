@@ -0,0 +1,32 @@
+package io.github.jhipster.sample.service.lease;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method only while holding its lease, so that a {@code @Scheduled} method runs on one instance at
+ * a time: when the lease is held by another instance, the method is skipped and returns {@code null}.
+ * <p>
+ * The lease is renewed every third of its time to live while the method runs, and released when it returns. The
+ * method should check the lease is still held, with {@link LeaseService#checkHeld()}, in the transactions it commits.
+ *
+ * @see LeaseAspect
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Leased {
+    /**
+     * Name of the lease, defaults to the simple name of the class followed by the name of the method.
+     */
+    String name() default "";
+
+    /**
+     * Time to live of the lease, as an ISO-8601 duration: how long the lease is kept after an instance stops renewing
+     * it, e.g. when it crashes.
+     */
+    String ttl() default "PT1M";
+}
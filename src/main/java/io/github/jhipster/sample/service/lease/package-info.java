@@ -0,0 +1,4 @@
+/**
+ * Leases of the jobs running on one instance at a time.
+ */
+package io.github.jhipster.sample.service.lease;
@@ -0,0 +1,201 @@
+package io.github.jhipster.sample.web.filter;
+
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.management.SecurityMetersService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Throttles the public endpoints spending the BCrypt pool and the mail executor.
+ * <p>
+ * {@code POST /api/authenticate} and {@code POST /api/account/reset-password/init} are limited per client IP
+ * address, then per login (or email) read from the request body, with token buckets (see
+ * {@link TokenBucketRateLimiter}). Rejected requests get a {@code 429 (Too Many Requests)} with a {@code Retry-After}
+ * header, before any password is checked or mail sent.
+ * <p>
+ * The client IP address is the remote address of the request: behind a load balancer or ingress, it must be resolved
+ * from the forwarded headers of trusted proxies ({@code server.forward-headers-strategy}, set in the prod profile),
+ * otherwise all the clients share the bucket of the proxy.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String AUTHENTICATE_PATH = "/api/authenticate";
+
+    static final String RESET_PASSWORD_INIT_PATH = "/api/account/reset-password/init";
+
+    private static final Set<String> RATE_LIMITED_PATHS = Set.of(AUTHENTICATE_PATH, RESET_PASSWORD_INIT_PATH);
+
+    /**
+     * Bigger bodies are not read for their login, they are still limited per IP address.
+     */
+    private static final int MAX_READ_BODY_BYTES = 4096;
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder().build();
+
+    private final TokenBucketRateLimiter ipLimiter;
+
+    private final TokenBucketRateLimiter loginLimiter;
+
+    private final SecurityMetersService metersService;
+
+    public RateLimitFilter(ApplicationProperties.Security.RateLimit rateLimit, SecurityMetersService metersService) {
+        var perIp = rateLimit.getPerIp();
+        var perLogin = rateLimit.getPerLogin();
+        this.ipLimiter = new TokenBucketRateLimiter(perIp.getCapacity(), perIp.getPeriod(), rateLimit.getMaxTrackedKeys());
+        this.loginLimiter = new TokenBucketRateLimiter(perLogin.getCapacity(), perLogin.getPeriod(), rateLimit.getMaxTrackedKeys());
+        this.metersService = metersService;
+        metersService.bindRateLimiter("ip", ipLimiter::size, ipLimiter::overflows);
+        metersService.bindRateLimiter("login", loginLimiter::size, loginLimiter::overflows);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !RATE_LIMITED_PATHS.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String path = path(request);
+        long wait = ipLimiter.tryAcquire(path + ' ' + request.getRemoteAddr());
+        if (wait > 0) {
+            metersService.trackRateLimitRejectedByIp();
+            reject(response, wait);
+            return;
+        }
+
+        InputStream body = request.getInputStream();
+        byte[] readBody = body.readNBytes(MAX_READ_BODY_BYTES + 1);
+        String login = readBody.length <= MAX_READ_BODY_BYTES ? login(path, readBody) : null;
+        if (login != null) {
+            wait = loginLimiter.tryAcquire(path + ' ' + login);
+            if (wait > 0) {
+                metersService.trackRateLimitRejectedByLogin();
+                reject(response, wait);
+                return;
+            }
+        }
+        var replayedBody = new SequenceInputStream(new ByteArrayInputStream(readBody), body);
+        filterChain.doFilter(new BodyReplayingRequest(request, replayedBody), response);
+    }
+
+    private static String login(String path, byte[] body) {
+        String login;
+        if (AUTHENTICATE_PATH.equals(path)) {
+            try {
+                JsonNode username = OBJECT_MAPPER.readTree(body).get("username");
+                login = username != null && username.isString() ? username.asString() : null;
+            } catch (JacksonException e) {
+                // Rejected by the controller anyway
+                return null;
+            }
+        } else {
+            login = new String(body, StandardCharsets.UTF_8);
+        }
+        if (login == null || login.isBlank()) {
+            return null;
+        }
+        return login.strip().toLowerCase(Locale.ENGLISH);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Request whose body is read from the given stream, as the original one was partly consumed.
+     */
+    private static class BodyReplayingRequest extends HttpServletRequestWrapper {
+
+        private final InputStream body;
+
+        BodyReplayingRequest(HttpServletRequest request, InputStream body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int read = body.read();
+                    finished = read == -1;
+                    return read;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int read = body.read(b, off, len);
+                    finished = read == -1;
+                    return read;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is always ready, the listener is called back at once and reads it until it is finished.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!finished) {
+                            readListener.onDataAvailable();
+                        }
+                        if (finished) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.jhipster.sample.web.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.cache.Cache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves the rarely changing reference-data lists from memory.
+ * <p>
+ * Successful responses of {@code GET /api/labels} and {@code GET /api/authorities} are stored serialized and
+ * pre-gzipped, per endpoint and per set of authorities of the caller, so that a hit costs neither a query nor
+ * JSON serialization. The stored responses are invalidated by the {@link ResponseCacheInvalidator} when the
+ * entities they are made of are written. Responses carry an {@code ETag} and must be revalidated by clients.
+ * <p>
+ * This filter runs after the authorization filter, so cached responses are only served to authorized callers.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    public static final String RESPONSES_CACHE = "httpResponses";
+
+    private static final Set<String> CACHED_PATHS = Set.of("/api/labels", "/api/authorities");
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private static final String GZIP = "gzip";
+
+    private final Cache cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCacheFilter(Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || !CACHED_PATHS.contains(path(request)) || request.getQueryString() != null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        CacheKey key = new CacheKey(path(request), scope());
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        if (cached == null) {
+            long startGeneration = generation.get();
+            var responseWrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, responseWrapper);
+            if (responseWrapper.getStatus() != HttpServletResponse.SC_OK) {
+                responseWrapper.copyBodyToResponse();
+                return;
+            }
+            cached = CachedResponse.of(responseWrapper.getContentType(), responseWrapper.getContentAsByteArray());
+            cache.put(key, cached);
+            if (generation.get() != startGeneration) {
+                // A write happened while this response was produced, it may be stale
+                cache.evict(key);
+            }
+        }
+        write(request, response, cached);
+    }
+
+    /**
+     * Drops all stored responses.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (new ServletWebRequest(request, response).checkNotModified(cached.etag())) {
+            return;
+        }
+        byte[] body = cached.body();
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            body = cached.gzippedBody();
+        }
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        for (String acceptEncoding : Collections.list(request.getHeaders(HttpHeaders.ACCEPT_ENCODING))) {
+            for (String coding : acceptEncoding.split(",")) {
+                String[] parameters = coding.split(";");
+                if (GZIP.equalsIgnoreCase(parameters[0].trim())) {
+                    return parameters.length == 1 || !parameters[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String scope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return "";
+        }
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().collect(Collectors.joining(","));
+    }
+
+    record CacheKey(String path, String scope) implements Serializable {}
+
+    record CachedResponse(String contentType, byte[] body, byte[] gzippedBody, String etag) implements Serializable {
+        static CachedResponse of(String contentType, byte[] body) throws IOException {
+            var gzipped = new ByteArrayOutputStream(body.length / 2 + 32);
+            try (var gzip = new GZIPOutputStream(gzipped)) {
+                gzip.write(body);
+            }
+            return new CachedResponse(contentType, body, gzipped.toByteArray(), "\"0" + DigestUtils.md5DigestAsHex(body) + "\"");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.jhipster.sample.web.filter;
+
+import io.github.jhipster.sample.domain.Authority;
+import io.github.jhipster.sample.domain.Label;
+import io.github.jhipster.sample.domain.Operation;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Invalidates the responses stored by the {@link ResponseCacheFilter} when a transaction writing the entities they are
+ * made of completes, whether the write went through the API, a service or a repository.
+ * <p>
+ * Labels embed their operations, so a write to an operation or to its labels invalidates too. Rolled back
+ * transactions invalidate as well, a response may have been stored from within them. Writes that Hibernate does not see,
+ * native SQL or another instance of the application, are only seen once the stored responses expire.
+ */
+public class ResponseCacheInvalidator
+    implements
+        PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private static final Set<String> CACHED_ENTITIES = Set.of(Label.class.getName(), Operation.class.getName(), Authority.class.getName());
+
+    private final ResponseCacheFilter responseCacheFilter;
+
+    /**
+     * Sessions whose current transaction wrote a cached entity, so that the invalidation is registered once per transaction.
+     */
+    private final Set<SharedSessionContractImplementor> pendingSessions = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    public ResponseCacheInvalidator(ResponseCacheFilter responseCacheFilter) {
+        this.responseCacheFilter = responseCacheFilter;
+    }
+
+    /**
+     * Listen to the entity and collection writes of the given persistence unit.
+     */
+    public void registerOn(EntityManagerFactory entityManagerFactory) {
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        onWrite(event.getPersister().getEntityName(), event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onWrite(event.getPersister().getEntityName(), event.getSession());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onWrite(event.getPersister().getEntityName(), event.getSession());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        onCollectionWrite(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onCollectionWrite(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onCollectionWrite(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void onCollectionWrite(AbstractCollectionEvent event) {
+        onWrite(event.getAffectedOwnerEntityName(), event.getSession());
+    }
+
+    private void onWrite(String entityName, SharedSessionContractImplementor session) {
+        if (CACHED_ENTITIES.contains(entityName) && pendingSessions.add(session)) {
+            session
+                .getTransactionCompletionCallbacks()
+                .registerCallback((success, completedSession) -> {
+                    pendingSessions.remove(session);
+                    responseCacheFilter.invalidate();
+                });
+        }
+    }
+}
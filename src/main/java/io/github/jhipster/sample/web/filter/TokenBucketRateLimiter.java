@@ -0,0 +1,123 @@
+package io.github.jhipster.sample.web.filter;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by string, updated without locks.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the instant at which it will be full again (the
+ * "theoretical arrival time" of the generic cell rate algorithm, which behaves exactly like a token bucket):
+ * a request is allowed when that instant is less than one period ahead, and pushes it by one emission interval
+ * with a compare-and-set. A bucket whose instant is past is full, so it can be dropped without changing any
+ * decision: buckets live in striped maps, and a stripe reaching its share of the maximum number of keys first
+ * evicts its idle buckets, then, if all of them are busy, the one closest to full. The buckets of the keys being
+ * limited are the furthest from full, so flooding the limiter with new keys does not reset their limits.
+ */
+final class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final int maxKeysPerStripe;
+
+    private final ConcurrentMap<String, AtomicLong>[] stripes;
+
+    private final LongSupplier nanoClock;
+
+    private final LongAdder overflows = new LongAdder();
+
+    TokenBucketRateLimiter(int capacity, Duration period, int maxKeys) {
+        this(capacity, period, maxKeys, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TokenBucketRateLimiter(int capacity, Duration period, int maxKeys, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.stripes = new ConcurrentMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take a token from the bucket of a key.
+     *
+     * @param key the key.
+     * @return 0 if a token was taken, otherwise the time to wait for the next token, in nanoseconds.
+     */
+    long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = bucket(key, now);
+        while (true) {
+            long fullAt = bucket.get();
+            long start = fullAt - now > 0 ? fullAt : now;
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Get the number of tracked keys.
+     */
+    int size() {
+        int size = 0;
+        for (ConcurrentMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Get the number of times a stripe was full of busy buckets and had to drop one.
+     */
+    long overflows() {
+        return overflows.sum();
+    }
+
+    private AtomicLong bucket(String key, long now) {
+        ConcurrentMap<String, AtomicLong> stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxKeysPerStripe) {
+            stripe.values().removeIf(idle -> idle.get() - now <= 0);
+            if (stripe.size() >= maxKeysPerStripe) {
+                overflows.increment();
+                evictClosestToFull(stripe);
+            }
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private static void evictClosestToFull(ConcurrentMap<String, AtomicLong> stripe) {
+        String closestToFull = null;
+        long earliestFullAt = 0;
+        for (var entry : stripe.entrySet()) {
+            long fullAt = entry.getValue().get();
+            if (closestToFull == null || fullAt - earliestFullAt < 0) {
+                closestToFull = entry.getKey();
+                earliestFullAt = fullAt;
+            }
+        }
+        if (closestToFull != null) {
+            stripe.remove(closestToFull);
+        }
+    }
+}
@@ -6,14 +6,17 @@ import static io.github.jhipster.sample.security.SecurityUtils.USER_ID_CLAIM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.github.jhipster.sample.security.DomainUserDetailsService.UserWithId;
+import io.github.jhipster.sample.security.TokenRevocationList;
 import io.github.jhipster.sample.web.rest.vm.LoginVM;
 import jakarta.validation.Valid;
 import java.security.Principal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -22,8 +25,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
@@ -48,9 +53,16 @@ public class AuthenticateController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public AuthenticateController(JwtEncoder jwtEncoder, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final ObjectProvider<TokenRevocationList> revocationList;
+
+    public AuthenticateController(
+        JwtEncoder jwtEncoder,
+        AuthenticationManagerBuilder authenticationManagerBuilder,
+        ObjectProvider<TokenRevocationList> revocationList
+    ) {
         this.jwtEncoder = jwtEncoder;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.revocationList = revocationList;
     }
 
     @PostMapping("/authenticate")
@@ -77,6 +89,21 @@ public class AuthenticateController {
         return ResponseEntity.status(principal == null ? HttpStatus.UNAUTHORIZED : HttpStatus.NO_CONTENT).build();
     }
 
+    /**
+     * {@code DELETE /authenticate} : revoke the token of the current user, so that it is rejected until it expires.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (No Content)}.
+     */
+    @DeleteMapping("/authenticate")
+    public ResponseEntity<Void> revokeToken(@AuthenticationPrincipal Jwt jwt) {
+        LOG.debug("REST request to revoke the token of the current user");
+        TokenRevocationList tokenRevocationList = revocationList.getIfAvailable();
+        if (tokenRevocationList != null && jwt != null && jwt.getId() != null) {
+            tokenRevocationList.revoke(jwt.getId(), jwt.getExpiresAt());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     public String createToken(Authentication authentication, boolean rememberMe) {
         String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(" "));
 
@@ -90,6 +117,7 @@ public class AuthenticateController {
 
         // @formatter:off
         JwtClaimsSet.Builder builder = JwtClaimsSet.builder()
+            .id(UUID.randomUUID().toString())
             .issuedAt(now)
             .expiresAt(validity)
             .subject(authentication.getName())
@@ -0,0 +1,105 @@
+package gatling.simulations;
+
+import static io.gatling.javaapi.core.CoreDsl.exec;
+import static io.gatling.javaapi.core.CoreDsl.forAll;
+import static io.gatling.javaapi.core.CoreDsl.global;
+import static io.gatling.javaapi.core.CoreDsl.incrementConcurrentUsers;
+import static io.gatling.javaapi.core.CoreDsl.scenario;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import io.gatling.javaapi.http.HttpRequestActionBuilder;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Throughput and latency of I/O-bound requests as concurrency grows, to compare request handling on platform
+ * threads and on virtual threads.
+ * <p>
+ * Run it once against the application started normally, then once against the application started with the
+ * {@code virtual-threads} Maven profile (or Spring profile), with the same {@code -Dthreading} label and load
+ * settings, and compare the two reports:
+ * <pre>
+ * ./mvnw gatling:test -Dgatling.simulationClass=gatling.simulations.ThreadingGatlingTest -Dthreading=platform
+ * ./mvnw gatling:test -Dgatling.simulationClass=gatling.simulations.ThreadingGatlingTest -Dthreading=virtual
+ * </pre>
+ * Concurrency grows by {@code -DusersPerStep} (100 by default) for {@code -Dsteps} steps (8 by default) of
+ * {@code -DstepSeconds} seconds (30 by default). Every virtual user reuses one token, requested once before the run,
+ * so that neither password hashing nor the authentication rate limit is measured. With more concurrent users than
+ * Tomcat threads (200 by default), requests queue on platform threads while virtual threads keep serving them.
+ */
+public class ThreadingGatlingTest extends Simulation {
+
+    String baseURL = Optional.ofNullable(System.getProperty("baseURL")).orElse("http://localhost:8080");
+
+    String threading = Optional.ofNullable(System.getProperty("threading")).orElse("unknown");
+
+    String accessToken;
+
+    HttpProtocolBuilder httpConf = http
+        .baseUrl(baseURL)
+        .acceptHeader("application/json")
+        .acceptEncodingHeader("gzip, deflate")
+        .connectionHeader("keep-alive")
+        .userAgentHeader("Gatling ThreadingGatlingTest");
+
+    ChainBuilder scn = exec(session -> session.set("access_token", accessToken))
+        .during(Duration.ofSeconds(Integer.getInteger("stepSeconds", 30)))
+        .on(
+            exec(authenticatedGet("Get account", "/api/account"))
+                .exec(authenticatedGet("Get bank accounts", "/api/bank-accounts"))
+                .exec(authenticatedGet("Get operations", "/api/operations?page=0&size=20"))
+        );
+
+    ScenarioBuilder users = scenario("Concurrent I/O-bound requests on " + threading + " threads").exec(scn);
+
+    @Override
+    public void before() {
+        accessToken = authenticate();
+    }
+
+    {
+        setUp(
+            users.injectClosed(
+                incrementConcurrentUsers(Integer.getInteger("usersPerStep", 100))
+                    .times(Integer.getInteger("steps", 8))
+                    .eachLevelLasting(Duration.ofSeconds(Integer.getInteger("stepSeconds", 30)))
+                    .startingFrom(0)
+            )
+        )
+            .protocols(httpConf)
+            .assertions(global().failedRequests().percent().lt(1.0), forAll().responseTime().percentile(95.0).lt(5000));
+    }
+
+    private static HttpRequestActionBuilder authenticatedGet(String name, String url) {
+        return http(name).get(url).header("Authorization", "#{access_token}").check(status().is(200));
+    }
+
+    private String authenticate() {
+        var request = HttpRequest.newBuilder(URI.create(baseURL + "/api/authenticate"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\", \"password\":\"admin\"}"))
+            .build();
+        try (var client = HttpClient.newHttpClient()) {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response
+                .headers()
+                .firstValue("Authorization")
+                .orElseThrow(() -> new IllegalStateException("Authentication failed with status " + response.statusCode()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Authentication failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Authentication interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.jhipster.sample.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import io.github.jhipster.sample.service.mapper.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+/**
+ * Test class for the {@link TimingAspect}.
+ */
+class TimingAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TimingAspect timingAspect;
+
+    private UserMapper userMapper;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        timingAspect = new TimingAspect(meterRegistry, true, 1);
+        var proxyFactory = new AspectJProxyFactory(new UserMapper());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(timingAspect);
+        userMapper = proxyFactory.getProxy();
+    }
+
+    @Test
+    void testCallsAreTimedPerMethod() {
+        userMapper.userFromId(1L);
+        userMapper.userFromId(2L);
+        userMapper.userFromId(null);
+
+        Timer timer = meterRegistry
+            .get(TimingAspect.METER_NAME)
+            .tag(TimingAspect.CLASS_TAG, "UserMapper")
+            .tag(TimingAspect.METHOD_TAG, "userFromId")
+            .timer();
+        assertThat(timer.count()).isEqualTo(3);
+        assertThat(meterRegistry.getMeters()).hasSize(2);
+        assertThat(timingAspect.getTimedMethods()).isEqualTo(1);
+    }
+
+    @Test
+    void testNothingIsTimedWhenDisabled() {
+        timingAspect.setEnabled(false);
+
+        assertThat(userMapper.userFromId(1L).getId()).isEqualTo(1L);
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    @Test
+    void testCallsAreSampledButAllCounted() {
+        timingAspect.setSampleRate(0);
+        userMapper.userFromId(1L);
+        assertThat(meterRegistry.get(TimingAspect.METER_NAME).timer().count()).isZero();
+
+        timingAspect.setSampleRate(0.5);
+        for (int i = 0; i < 1000; i++) {
+            userMapper.userFromId(1L);
+        }
+        assertThat(meterRegistry.get(TimingAspect.METER_NAME).timer().count()).isBetween(350L, 650L);
+        Counter calls = meterRegistry
+            .get(TimingAspect.CALLS_METER_NAME)
+            .tag(TimingAspect.CLASS_TAG, "UserMapper")
+            .tag(TimingAspect.METHOD_TAG, "userFromId")
+            .counter();
+        assertThat(calls.count()).isEqualTo(1001);
+    }
+
+    @Test
+    void testSampleRateIsValidated() {
+        assertThatIllegalArgumentException().isThrownBy(() -> timingAspect.setSampleRate(1.5));
+        assertThatIllegalArgumentException().isThrownBy(() -> timingAspect.setSampleRate(Double.NaN));
+        assertThat(timingAspect.getSampleRate()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Test class for the {@link AsyncConfiguration}.
+ */
+class AsyncConfigurationTest {
+
+    private Executor executor;
+
+    @AfterEach
+    void cleanup() throws Exception {
+        SecurityContextHolder.clearContext();
+        if (executor instanceof DisposableBean disposableBean) {
+            disposableBean.destroy();
+        }
+    }
+
+    @Test
+    void testTasksRunOnPlatformThreadsByDefault() throws Exception {
+        executor = executor(new MockEnvironment());
+
+        TaskThread taskThread = runAsUser();
+
+        assertThat(taskThread.virtual()).isFalse();
+        assertThat(taskThread.name()).startsWith("async-test-");
+        assertThat(taskThread.authentication()).isNotNull().extracting(Authentication::getName).isEqualTo("user");
+    }
+
+    @Test
+    void testTasksRunOnVirtualThreadsWhenEnabled() throws Exception {
+        executor = executor(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+
+        TaskThread taskThread = runAsUser();
+
+        assertThat(taskThread.virtual()).isTrue();
+        assertThat(taskThread.name()).startsWith("async-test-");
+        assertThat(taskThread.authentication()).isNotNull().extracting(Authentication::getName).isEqualTo("user");
+    }
+
+    @Test
+    void testMailTasksRunOnTheirOwnExecutor() throws Exception {
+        executor = initialize(configuration(new MockEnvironment()).mailExecutor());
+
+        TaskThread taskThread = runAsUser();
+
+        assertThat(taskThread.name()).startsWith("async-test-mail-");
+        assertThat(taskThread.authentication()).isNotNull().extracting(Authentication::getName).isEqualTo("user");
+    }
+
+    @Test
+    void testSaturatedVirtualThreadsRejectInsteadOfBlocking() throws Exception {
+        var applicationProperties = new ApplicationProperties();
+        var mail = applicationProperties.getAsync().getMail();
+        mail.setMaxSize(1);
+        mail.setQueueCapacity(1);
+        mail.setRejectionPolicy(BulkheadTaskExecutor.RejectionPolicy.ABORT);
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+        executor = initialize(configuration(environment, applicationProperties).mailExecutor());
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try {
+            executor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            executor.execute(() -> {});
+
+            assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> executor.execute(() -> {}));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testMailTasksCannotBeDiscarded() {
+        var applicationProperties = new ApplicationProperties();
+        applicationProperties.getAsync().getMail().setRejectionPolicy(BulkheadTaskExecutor.RejectionPolicy.DISCARD);
+
+        assertThatIllegalStateException().isThrownBy(() -> configuration(new MockEnvironment(), applicationProperties).mailExecutor());
+    }
+
+    private static Executor executor(MockEnvironment environment) throws Exception {
+        return initialize(configuration(environment).getAsyncExecutor());
+    }
+
+    private static AsyncConfiguration configuration(MockEnvironment environment) {
+        return configuration(environment, new ApplicationProperties());
+    }
+
+    private static AsyncConfiguration configuration(MockEnvironment environment, ApplicationProperties applicationProperties) {
+        var taskExecutionProperties = new TaskExecutionProperties();
+        taskExecutionProperties.setThreadNamePrefix("async-test-");
+        taskExecutionProperties.getPool().setMaxSize(8);
+        return new AsyncConfiguration(taskExecutionProperties, applicationProperties, new SimpleMeterRegistry(), environment);
+    }
+
+    private static Executor initialize(Executor executor) throws Exception {
+        if (executor instanceof InitializingBean initializingBean) {
+            initializingBean.afterPropertiesSet();
+        }
+        return executor;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TaskThread runAsUser() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated("user", null, null));
+        var result = new CompletableFuture<TaskThread>();
+        executor.execute(() ->
+            result.complete(
+                new TaskThread(
+                    Thread.currentThread().isVirtual(),
+                    Thread.currentThread().getName(),
+                    SecurityContextHolder.getContext().getAuthentication()
+                )
+            )
+        );
+        return result.get(5, TimeUnit.SECONDS);
+    }
+
+    private record TaskThread(boolean virtual, String name, Authentication authentication) {}
+}
@@ -0,0 +1,157 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link AsyncRingBufferAppender}.
+ */
+class AsyncRingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final Logger logger = context.getLogger(AsyncRingBufferAppenderTest.class);
+
+    private final AsyncRingBufferAppender.Counters counters = new AsyncRingBufferAppender.Counters();
+
+    private final AsyncRingBufferAppender appender = new AsyncRingBufferAppender(counters);
+
+    @BeforeEach
+    void setup() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void cleanup() {
+        appender.stop();
+    }
+
+    @Test
+    void testEventsAreDeliveredInOrderAndFlushedOnStop() {
+        var delegate = new ListAppender<ILoggingEvent>();
+        start(delegate, 16);
+
+        for (int i = 0; i < 1000; i++) {
+            appender.doAppend(event(Level.WARN, "event " + i));
+        }
+        appender.stop();
+
+        assertThat(delegate.list).hasSize(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(delegate.list.get(i).getFormattedMessage()).isEqualTo("event " + i);
+        }
+        assertThat(delegate.isStarted()).isFalse();
+        assertThat(counters.getEnqueued()).isEqualTo(1000);
+        assertThat(counters.getDropped(Level.WARN)).isZero();
+    }
+
+    @Test
+    void testEventsAtTheDiscardLevelAreDroppedWhenTheBufferIsFull() throws Exception {
+        var delegate = new BlockingAppender();
+        start(delegate, 4);
+        appender.doAppend(event(Level.INFO, "taken by the worker"));
+        assertThat(delegate.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 4; i++) {
+            appender.doAppend(event(Level.INFO, "buffered"));
+        }
+
+        appender.doAppend(event(Level.DEBUG, "dropped"));
+        appender.doAppend(event(Level.INFO, "dropped"));
+        appender.doAppend(event(Level.INFO, "dropped"));
+        CompletableFuture<Void> warn = CompletableFuture.runAsync(() -> appender.doAppend(event(Level.WARN, "waiting for room")));
+
+        Thread.sleep(50);
+        assertThat(warn).isNotDone();
+        delegate.release.countDown();
+        warn.get(5, TimeUnit.SECONDS);
+        appender.stop();
+        assertThat(delegate.list).hasSize(6).extracting(ILoggingEvent::getLevel).endsWith(Level.WARN);
+        assertThat(counters.getEnqueued()).isEqualTo(6);
+        assertThat(counters.getDropped(Level.DEBUG)).isEqualTo(1);
+        assertThat(counters.getDropped(Level.INFO)).isEqualTo(2);
+        assertThat(counters.getDropped(Level.WARN)).isZero();
+    }
+
+    @Test
+    void testCountersAreBoundToTheRegistry() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        counters.bindTo(meterRegistry);
+        counters.enqueued();
+        counters.dropped(Level.INFO);
+        counters.dropped(Level.INFO);
+
+        assertThat(meterRegistry.get(AsyncRingBufferAppender.Counters.METER_NAME).tag("outcome", "enqueued").functionCounter().count())
+            .isEqualTo(1);
+        assertThat(
+            meterRegistry
+                .get(AsyncRingBufferAppender.Counters.METER_NAME)
+                .tags("outcome", "dropped", "level", "info")
+                .functionCounter()
+                .count()
+        ).isEqualTo(2);
+        assertThat(meterRegistry.get(AsyncRingBufferAppender.Counters.METER_NAME).tag("outcome", "dropped").functionCounters()).hasSize(5);
+    }
+
+    @Test
+    void testAnInvalidRingBufferSizeDoesNotStart() {
+        appender.setContext(context);
+        appender.setRingBufferSize(0);
+
+        appender.start();
+
+        assertThat(appender.isStarted()).isFalse();
+    }
+
+    private void start(AppenderBase<ILoggingEvent> delegate, int ringBufferSize) {
+        delegate.setContext(context);
+        delegate.start();
+        appender.setContext(context);
+        appender.setName("ASYNC_TEST");
+        appender.setRingBufferSize(ringBufferSize);
+        appender.setMaxFlushTime(Duration.ofSeconds(5));
+        appender.addAppender(delegate);
+        appender.start();
+    }
+
+    private ILoggingEvent event(Level level, String message) {
+        return new LoggingEvent(Logger.FQCN, logger, level, message, null, null);
+    }
+
+    /**
+     * Appender blocked on its first event until released.
+     */
+    private static final class BlockingAppender extends ListAppender<ILoggingEvent> {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.append(event);
+        }
+    }
+}
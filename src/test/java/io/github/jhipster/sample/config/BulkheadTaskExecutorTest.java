@@ -0,0 +1,141 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.jhipster.sample.config.BulkheadTaskExecutor.RejectionPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Test class for the {@link BulkheadTaskExecutor}.
+ */
+class BulkheadTaskExecutorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private BulkheadTaskExecutor executor;
+
+    @AfterEach
+    void cleanup() throws Exception {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void testThreadsStartBeforeTasksAreQueued() throws Exception {
+        executor = executor(2, 10, RejectionPolicy.ABORT);
+        var started = new CountDownLatch(2);
+
+        for (int i = 0; i < 3; i++) {
+            executor.execute(blocking(started));
+        }
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(gauge("executor.active")).isEqualTo(2);
+        assertThat(gauge("executor.queued")).isEqualTo(1);
+
+        release.countDown();
+        awaitCompleted(3);
+        assertThat(gauge("executor.active")).isZero();
+        assertThat(gauge("executor.queued")).isZero();
+        assertThat(meterRegistry.get("executor.queue.wait").tag("name", "test").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testTasksAreAbortedOnceTheQueueIsFull() throws Exception {
+        executor = saturated(RejectionPolicy.ABORT);
+
+        assertThatThrownBy(() -> executor.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+        assertThat(rejected()).isEqualTo(1);
+        assertThat(gauge("executor.queued")).isEqualTo(1);
+    }
+
+    @Test
+    void testTasksRunOnTheCallerOnceTheQueueIsFull() throws Exception {
+        executor = saturated(RejectionPolicy.CALLER_RUNS);
+        var thread = new AtomicReference<Thread>();
+
+        executor.execute(() -> thread.set(Thread.currentThread()));
+
+        assertThat(thread.get()).isSameAs(Thread.currentThread());
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void testTasksAreDiscardedOnceTheQueueIsFull() throws Exception {
+        executor = saturated(RejectionPolicy.DISCARD);
+        var ran = new CompletableFuture<Void>();
+
+        executor.execute(() -> ran.complete(null));
+
+        release.countDown();
+        awaitCompleted(2);
+        assertThat(ran).isNotDone();
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    private BulkheadTaskExecutor executor(int maxSize, int queueCapacity, RejectionPolicy rejectionPolicy) throws Exception {
+        var pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(maxSize);
+        pool.setMaxPoolSize(maxSize);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setThreadNamePrefix("bulkhead-test-");
+        var bulkhead = new BulkheadTaskExecutor("test", pool, rejectionPolicy, meterRegistry);
+        bulkhead.afterPropertiesSet();
+        return bulkhead;
+    }
+
+    /**
+     * An executor with its only thread busy and its only queue slot taken.
+     */
+    private BulkheadTaskExecutor saturated(RejectionPolicy rejectionPolicy) throws Exception {
+        BulkheadTaskExecutor bulkhead = executor(1, 1, rejectionPolicy);
+        var started = new CountDownLatch(1);
+        bulkhead.execute(blocking(started));
+        bulkhead.execute(() -> {});
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return bulkhead;
+    }
+
+    private Runnable blocking(CountDownLatch started) {
+        return () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+    }
+
+    private void awaitCompleted(long tasks) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (completed() < tasks && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(completed()).isEqualTo(tasks);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("name", "test").gauge().value();
+    }
+
+    private double completed() {
+        return meterRegistry.get("executor.completed").tag("name", "test").functionCounter().count();
+    }
+
+    private double rejected() {
+        return meterRegistry.get("executor.rejected").tag("name", "test").counter().count();
+    }
+}
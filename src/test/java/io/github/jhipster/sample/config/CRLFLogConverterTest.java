@@ -99,6 +99,28 @@ class CRLFLogConverterTest {
         assertEquals("Test_input_string", result);
     }
 
+    @Test
+    void transformShouldReturnSameInstanceWhenInputHasNoCRLF() {
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        String input = "Test input string";
+        CRLFLogConverter converter = new CRLFLogConverter();
+
+        String result = converter.transform(event, input);
+
+        assertSame(input, result);
+    }
+
+    @Test
+    void transformShouldReplaceEveryCRLFAndTabCharacter() {
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        CRLFLogConverter converter = new CRLFLogConverter();
+
+        assertEquals("__Test__input_\u001B[31mstring_", converter.transform(event, "\r\nTest\r\ninput\t\u001B[31mstring\n"));
+        assertEquals("_", converter.transform(event, "\n"));
+    }
+
     @Test
     void isLoggerSafeShouldReturnTrueWhenLoggerNameStartsWithSafeLogger() {
         ILoggingEvent event = mock(ILoggingEvent.class);
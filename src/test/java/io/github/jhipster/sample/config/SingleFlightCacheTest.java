@@ -0,0 +1,105 @@
+package io.github.jhipster.sample.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+/**
+ * Test class for the {@link SingleFlightCache}.
+ */
+class SingleFlightCacheTest {
+
+    private static final int CONCURRENT_CALLERS = 16;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ExecutorService callers;
+
+    private ConcurrentMapCache delegate;
+
+    @BeforeEach
+    void setup() {
+        callers = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        delegate = new ConcurrentMapCache("test");
+    }
+
+    @AfterEach
+    void cleanup() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        var cache = new SingleFlightCache(delegate);
+        var loadStarted = new CountDownLatch(1);
+        var releaseLoad = new CountDownLatch(1);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+            results.add(
+                callers.submit(() ->
+                    cache.get("key", () -> {
+                        loads.incrementAndGet();
+                        loadStarted.countDown();
+                        releaseLoad.await();
+                        return "value";
+                    })
+                )
+            );
+        }
+        assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // Give the other callers time to queue up behind the in-flight load
+        Thread.sleep(200);
+        releaseLoad.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(delegate.get("key", String.class)).isEqualTo("value");
+    }
+
+    @Test
+    void testNullResultIsNotCached() {
+        var cache = new SingleFlightCache(delegate);
+
+        assertThat(cache.get("key", this::loadNull)).isNull();
+        assertThat(cache.get("key", this::loadNull)).isNull();
+
+        assertThat(loads).hasValue(2);
+        assertThat(delegate.get("key")).isNull();
+    }
+
+    @Test
+    void testFailedLoadIsPropagatedAndNotCached() {
+        var cache = new SingleFlightCache(delegate);
+
+        assertThatThrownBy(() ->
+            cache.get("key", () -> {
+                throw new IllegalStateException("Database unavailable");
+            })
+        )
+            .isInstanceOf(Cache.ValueRetrievalException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(delegate.get("key")).isNull();
+        assertThat(cache.get("key", () -> "value")).isEqualTo("value");
+    }
+
+    private String loadNull() {
+        loads.incrementAndGet();
+        return null;
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.jhipster.sample.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.domain.UserPrincipal;
+import io.github.jhipster.sample.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for the {@link CacheInspectionEndpoint}.
+ */
+@IntegrationTest
+class CacheInspectionEndpointIT {
+
+    private static final String LOGIN = "cache-inspection-user";
+
+    @Autowired
+    private CacheInspectionEndpoint cacheInspectionEndpoint;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void initTest() {
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cacheManager
+            .getCache(UserRepository.USERS_BY_LOGIN_CACHE)
+            .put(LOGIN, new UserPrincipal(1L, LOGIN, "$2a$10$" + "x".repeat(53), true, List.of("ROLE_USER")));
+    }
+
+    @Test
+    void testRegionsAreListedAndEstimated() {
+        cacheInspectionEndpoint.estimate();
+
+        CacheInspectionEndpoint.CacheInspection inspection = cacheInspectionEndpoint.regions();
+
+        assertThat(inspection.regions())
+            .extracting(CacheInspectionEndpoint.RegionEstimate::name)
+            .contains(UserRepository.USERS_BY_LOGIN_CACHE, UserRepository.USERS_BY_EMAIL_CACHE);
+        CacheInspectionEndpoint.RegionEstimate usersByLogin = cacheInspectionEndpoint.region(UserRepository.USERS_BY_LOGIN_CACHE);
+        assertThat(usersByLogin.entries()).isEqualTo(1);
+        assertThat(usersByLogin.sampledEntries()).isEqualTo(1);
+        assertThat(usersByLogin.estimatedBytes()).isGreaterThan(100);
+        assertThat(usersByLogin.histogram().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(1);
+        assertThat(usersByLogin.estimatedAt()).isNotNull();
+        DistributionSummary entrySize = meterRegistry.get("cache.entry.size").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).summary();
+        assertThat(entrySize.takeSnapshot().histogramCounts()).hasSize(14);
+    }
+
+    @Test
+    void testUnknownRegion() {
+        assertThat(cacheInspectionEndpoint.region("unknown")).isNull();
+        assertThat(cacheInspectionEndpoint.evict("unknown", null)).isNull();
+    }
+
+    @Test
+    void testEvictKey() {
+        CacheInspectionEndpoint.Eviction eviction = cacheInspectionEndpoint.evict(UserRepository.USERS_BY_LOGIN_CACHE, LOGIN);
+
+        assertThat(eviction.evicted()).isEqualTo(1);
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(LOGIN)).isNull();
+    }
+
+    @Test
+    void testEvictRegion() {
+        cacheInspectionEndpoint.evict(UserRepository.USERS_BY_LOGIN_CACHE, null);
+
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(LOGIN)).isNull();
+    }
+}
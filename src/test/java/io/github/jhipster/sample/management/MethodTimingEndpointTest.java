@@ -0,0 +1,38 @@
+package io.github.jhipster.sample.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.github.jhipster.sample.aop.timing.TimingAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+/**
+ * Test class for the {@link MethodTimingEndpoint}.
+ */
+class MethodTimingEndpointTest {
+
+    private final TimingAspect timingAspect = new TimingAspect(new SimpleMeterRegistry(), true, 1);
+
+    private final MethodTimingEndpoint endpoint = new MethodTimingEndpoint(timingAspect);
+
+    @Test
+    void testTimingIsConfigured() {
+        MethodTimingEndpoint.MethodTiming timing = endpoint.configure(false, 0.25);
+
+        assertThat(timing.enabled()).isFalse();
+        assertThat(timing.sampleRate()).isEqualTo(0.25);
+        assertThat(timingAspect.isEnabled()).isFalse();
+    }
+
+    @Test
+    void testInvalidSampleRateIsABadRequest() {
+        assertThatExceptionOfType(InvalidEndpointRequestException.class)
+            .isThrownBy(() -> endpoint.configure(false, 1.5))
+            .satisfies(e -> assertThat(e.getReason()).contains("between 0 and 1"));
+
+        assertThat(timingAspect.isEnabled()).isTrue();
+        assertThat(timingAspect.getSampleRate()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.jhipster.sample.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ObjectSizeEstimator}.
+ */
+class ObjectSizeEstimatorTest {
+
+    private final ObjectSizeEstimator estimator = new ObjectSizeEstimator(1000);
+
+    @Test
+    void testPrimitiveArraySize() {
+        assertThat(estimator.estimate(new byte[100]).bytes()).isEqualTo(120);
+        assertThat(estimator.estimate(new long[10]).bytes()).isEqualTo(96);
+    }
+
+    @Test
+    void testLargerGraphIsLarger() {
+        long small = estimator.estimate(new Node("a", null)).bytes();
+        long large = estimator.estimate(new Node("a", new Node("b".repeat(100), null))).bytes();
+
+        assertThat(small).isPositive();
+        assertThat(large).isGreaterThan(small + 100);
+    }
+
+    @Test
+    void testSharedObjectsAreCountedOnce() {
+        String shared = "x".repeat(1000);
+
+        long once = estimator.estimate(List.of(shared)).bytes();
+        long twice = estimator.estimate(List.of(shared, shared)).bytes();
+
+        assertThat(twice).isLessThan(once + 100);
+    }
+
+    @Test
+    void testJdkCollectionsAreWalked() {
+        assertThat(estimator.estimate(Map.of("key", "v".repeat(1000))).bytes()).isGreaterThan(1000);
+    }
+
+    @Test
+    void testWalkIsBounded() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(new Node("node" + i, null));
+        }
+
+        ObjectSizeEstimator.Estimate estimate = estimator.estimate(list);
+
+        assertThat(estimate.truncated()).isTrue();
+        assertThat(estimator.estimate(new Node("node", null)).truncated()).isFalse();
+    }
+
+    @Test
+    void testWideGraphIsBounded() {
+        Object[] array = new Object[100000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = new Node("node" + i, null);
+        }
+
+        ObjectSizeEstimator.Estimate estimate = estimator.estimate(array);
+
+        assertThat(estimate.truncated()).isTrue();
+        assertThat(estimate.bytes()).isGreaterThanOrEqualTo(16 + 4L * array.length);
+    }
+
+    @Test
+    void testCyclesAreWalkedOnce() {
+        Node first = new Node("first", null);
+        Node second = new Node("second", first);
+        first.next = second;
+
+        assertThat(estimator.estimate(first).truncated()).isFalse();
+    }
+
+    private static class Node {
+
+        private final String name;
+
+        private Node next;
+
+        Node(String name, Node next) {
+            this.name = name;
+            this.next = next;
+        }
+    }
+}
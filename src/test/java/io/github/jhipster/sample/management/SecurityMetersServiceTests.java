@@ -6,6 +6,7 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -13,6 +14,16 @@ class SecurityMetersServiceTests {
 
     private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
 
+    private static final String TOKEN_DECODING_METER_EXPECTED_NAME = "security.authentication.token-decoding";
+
+    private static final String TOKEN_CACHE_METER_EXPECTED_NAME = "security.authentication.token-cache";
+
+    private static final String UNKNOWN_USERS_METER_EXPECTED_NAME = "security.authentication.unknown-users";
+
+    private static final String PASSWORD_HASHING_METER_EXPECTED_PREFIX = "security.password-hashing.";
+
+    private static final String RATE_LIMIT_METER_EXPECTED_PREFIX = "security.rate-limit.";
+
     private MeterRegistry meterRegistry;
 
     private SecurityMetersService securityMetersService;
@@ -36,35 +47,77 @@ class SecurityMetersServiceTests {
 
         meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter();
 
+        meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "revoked").counter();
+
+        meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "unknown").counter();
+
         Collection<Counter> counters = meterRegistry.find(INVALID_TOKENS_METER_EXPECTED_NAME).counters();
 
-        assertThat(counters).hasSize(4);
+        assertThat(counters).hasSize(6);
     }
 
     @Test
-    void testCountMethodsShouldBeBoundToCorrectCounters() {
-        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "expired").counter().count()).isZero();
-
-        securityMetersService.trackTokenExpired();
-
-        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "expired").counter().count()).isEqualTo(1);
-
-        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "unsupported").counter().count()).isZero();
+    void testTokenDecodingIsTimedByOutcome() {
+        securityMetersService.recordTokenDecoded(TimeUnit.MILLISECONDS.toNanos(2));
+        securityMetersService.recordTokenRejected("unsupported", TimeUnit.MILLISECONDS.toNanos(1));
+        securityMetersService.recordTokenRejected("not-a-cause", TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertThat(meterRegistry.get(TOKEN_DECODING_METER_EXPECTED_NAME).tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TOKEN_DECODING_METER_EXPECTED_NAME).tag("outcome", "unsupported").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TOKEN_DECODING_METER_EXPECTED_NAME).tag("outcome", "unknown").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "unsupported").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "unknown").counter().count()).isEqualTo(1);
+    }
 
-        securityMetersService.trackTokenUnsupported();
+    @Test
+    void testTokenCacheCountersAreBoundToCorrectResults() {
+        assertThat(meterRegistry.find(TOKEN_CACHE_METER_EXPECTED_NAME).counters()).hasSize(2);
 
-        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "unsupported").counter().count()).isEqualTo(1);
+        securityMetersService.trackTokenCacheHit();
+        securityMetersService.trackTokenCacheHit();
+        securityMetersService.trackTokenCacheMiss();
 
-        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "invalid-signature").counter().count()).isZero();
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "miss").counter().count()).isEqualTo(1);
+    }
 
-        securityMetersService.trackTokenInvalidSignature();
+    @Test
+    void testUnknownUsersCountersAreBoundToCorrectSources() {
+        assertThat(meterRegistry.find(UNKNOWN_USERS_METER_EXPECTED_NAME).counters()).hasSize(2);
 
-        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "invalid-signature").counter().count()).isEqualTo(1);
+        securityMetersService.trackUnknownUserFromCache();
+        securityMetersService.trackUnknownUserFromDatabase();
+        securityMetersService.trackUnknownUserFromDatabase();
 
-        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isZero();
+        assertThat(meterRegistry.get(UNKNOWN_USERS_METER_EXPECTED_NAME).tag("source", "cache").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(UNKNOWN_USERS_METER_EXPECTED_NAME).tag("source", "database").counter().count()).isEqualTo(2);
+    }
 
-        securityMetersService.trackTokenMalformed();
+    @Test
+    void testPasswordHashingMetersAreRecorded() {
+        securityMetersService.recordPasswordHashingQueueWait(TimeUnit.MILLISECONDS.toNanos(5));
+        securityMetersService.recordPasswordHashing(TimeUnit.MILLISECONDS.toNanos(100));
+        securityMetersService.trackPasswordHashingRejected();
+
+        assertThat(meterRegistry.get(PASSWORD_HASHING_METER_EXPECTED_PREFIX + "queue-wait").timer().totalTime(TimeUnit.MILLISECONDS))
+            .isEqualTo(5);
+        assertThat(meterRegistry.get(PASSWORD_HASHING_METER_EXPECTED_PREFIX + "duration").timer().totalTime(TimeUnit.MILLISECONDS))
+            .isEqualTo(100);
+        assertThat(meterRegistry.get(PASSWORD_HASHING_METER_EXPECTED_PREFIX + "rejected").counter().count()).isEqualTo(1);
+    }
 
-        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(1);
+    @Test
+    void testRateLimitMetersAreBoundToCorrectKeys() {
+        assertThat(meterRegistry.find(RATE_LIMIT_METER_EXPECTED_PREFIX + "rejected").counters()).hasSize(2);
+
+        securityMetersService.trackRateLimitRejectedByLogin();
+        securityMetersService.trackRateLimitRejectedByIp();
+        securityMetersService.trackRateLimitRejectedByIp();
+        securityMetersService.bindRateLimiter("ip", () -> 3, () -> 1L);
+
+        assertThat(meterRegistry.get(RATE_LIMIT_METER_EXPECTED_PREFIX + "rejected").tag("key", "login").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RATE_LIMIT_METER_EXPECTED_PREFIX + "rejected").tag("key", "ip").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(RATE_LIMIT_METER_EXPECTED_PREFIX + "tracked-keys").tag("key", "ip").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get(RATE_LIMIT_METER_EXPECTED_PREFIX + "overflows").tag("key", "ip").gauge().value()).isEqualTo(1);
     }
 }
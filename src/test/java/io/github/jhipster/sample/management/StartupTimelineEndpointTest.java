@@ -0,0 +1,61 @@
+package io.github.jhipster.sample.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Test class for the {@link StartupTimelineEndpoint}.
+ */
+class StartupTimelineEndpointTest {
+
+    @Test
+    void testPhasesAndSlowestBeansAreSummarized() throws InterruptedException {
+        var applicationStartup = new BufferingApplicationStartup(100);
+        StartupStep refresh = applicationStartup.start("spring.context.refresh");
+        StartupStep liquibase = bean(applicationStartup, "liquibase");
+        StartupStep dataSource = bean(applicationStartup, "dataSource");
+        Thread.sleep(90);
+        dataSource.end();
+        Thread.sleep(30);
+        liquibase.end();
+        StartupStep entityManagerFactory = bean(applicationStartup, "entityManagerFactory");
+        Thread.sleep(60);
+        entityManagerFactory.end();
+        refresh.end();
+        var endpoint = new StartupTimelineEndpoint(applicationStartup, new LiquibaseMigrationHealthIndicator());
+
+        StartupTimelineEndpoint.Startup startup = endpoint.summarize(Duration.ofSeconds(2), Duration.ofSeconds(3));
+
+        assertThat(startup.jvmMs()).isEqualTo(1000);
+        assertThat(startup.applicationMs()).isEqualTo(2000);
+        assertThat(startup.phasesMs()).containsOnlyKeys("context", "liquibase", "jpa");
+        assertThat(startup.phasesMs().get("liquibase")).isGreaterThanOrEqualTo(120);
+        assertThat(startup.slowestBeans())
+            .extracting(StartupTimelineEndpoint.BeanTiming::name)
+            .containsExactly("dataSource", "entityManagerFactory", "liquibase");
+        StartupTimelineEndpoint.BeanTiming liquibaseTiming = startup.slowestBeans().get(2);
+        assertThat(liquibaseTiming.selfMs()).isLessThan(liquibaseTiming.totalMs() - 80);
+        assertThat(applicationStartup.getBufferedTimeline().getEvents()).isEmpty();
+    }
+
+    @Test
+    void testNothingIsRecordedWithoutBuffering() {
+        var endpoint = new StartupTimelineEndpoint(ApplicationStartup.DEFAULT, new LiquibaseMigrationHealthIndicator());
+
+        StartupTimelineEndpoint.Startup startup = endpoint.summarize(Duration.ofSeconds(2), Duration.ofSeconds(1));
+
+        assertThat(startup.jvmMs()).isZero();
+        assertThat(startup.phasesMs()).isEmpty();
+        assertThat(startup.slowestBeans()).isEmpty();
+        assertThat(endpoint.timeline()).isNull();
+    }
+
+    private static StartupStep bean(BufferingApplicationStartup applicationStartup, String name) {
+        return applicationStartup.start("spring.beans.instantiate").tag("beanName", name);
+    }
+}
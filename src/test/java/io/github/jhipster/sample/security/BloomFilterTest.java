@@ -0,0 +1,45 @@
+package io.github.jhipster.sample.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link BloomFilter}.
+ */
+class BloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+
+    @Test
+    void testAddedValuesAreFound() {
+        var filter = new BloomFilter(INSERTIONS, 0.01);
+        String[] values = new String[INSERTIONS];
+        for (int i = 0; i < INSERTIONS; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.add(values[i]);
+        }
+
+        for (String value : values) {
+            assertThat(filter.mightContain(value)).isTrue();
+        }
+    }
+
+    @Test
+    void testFalsePositiveRateIsBounded() {
+        var filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        // About 1000 expected, with a wide margin against randomness
+        assertThat(falsePositives).isLessThan(2000);
+    }
+}
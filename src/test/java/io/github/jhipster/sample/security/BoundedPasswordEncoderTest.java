@@ -0,0 +1,86 @@
+package io.github.jhipster.sample.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.github.jhipster.sample.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for the {@link BoundedPasswordEncoder}.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch hashingStarted = new CountDownLatch(1);
+
+    private final CountDownLatch releaseHashing = new CountDownLatch(1);
+
+    private MeterRegistry meterRegistry;
+
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingStarted.countDown();
+                try {
+                    releaseHashing.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "{hashed}" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        passwordEncoder = new BoundedPasswordEncoder(blockingEncoder, 1, 1, new SecurityMetersService(meterRegistry));
+    }
+
+    @AfterEach
+    void cleanup() {
+        releaseHashing.countDown();
+        passwordEncoder.close();
+    }
+
+    @Test
+    void testHashingIsDelegated() {
+        releaseHashing.countDown();
+
+        assertThat(passwordEncoder.encode("password")).isEqualTo("{hashed}password");
+        assertThat(passwordEncoder.matches("password", "{hashed}password")).isTrue();
+        assertThat(passwordEncoder.matches("other", "{hashed}password")).isFalse();
+        assertThat(meterRegistry.get("security.password-hashing.duration").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("security.password-hashing.queue-wait").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testHashingIsRejectedWhenQueueIsFull() throws Exception {
+        var running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("running"));
+        assertThat(hashingStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+        while (passwordEncoder.queueSize() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatExceptionOfType(PasswordHashingRejectedException.class).isThrownBy(() -> passwordEncoder.encode("rejected"));
+        assertThat(meterRegistry.get("security.password-hashing.rejected").counter().count()).isEqualTo(1);
+
+        releaseHashing.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("{hashed}running");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("{hashed}queued");
+    }
+}
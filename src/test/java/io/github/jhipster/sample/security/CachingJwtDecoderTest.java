@@ -0,0 +1,113 @@
+package io.github.jhipster.sample.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.jhipster.sample.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Test class for the {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final String TOKEN_CACHE_METER_EXPECTED_NAME = "security.authentication.token-cache";
+
+    private final AtomicInteger delegateCalls = new AtomicInteger();
+
+    private CacheManager cacheManager;
+
+    private MeterRegistry meterRegistry;
+
+    private CachingJwtDecoder cachingJwtDecoder;
+
+    @BeforeEach
+    void setup() {
+        cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+        var cache = cacheManager.createCache(
+            CachingJwtDecoder.VERIFIED_JWTS_CACHE,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(String.class, Jwt.class, ResourcePoolsBuilder.heap(10))
+                    .withExpiry(new CachingJwtDecoder.TokenExpiry(Duration.ofHours(1)))
+                    .build()
+            )
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        JwtDecoder delegate = token -> {
+            delegateCalls.incrementAndGet();
+            if (token.startsWith("invalid")) {
+                throw new BadJwtException("Malformed token");
+            }
+            return jwt(token, Instant.now().plusSeconds(60));
+        };
+        cachingJwtDecoder = new CachingJwtDecoder(delegate, cache, new SecurityMetersService(meterRegistry));
+    }
+
+    @AfterEach
+    void cleanup() {
+        cacheManager.destroyCache(CachingJwtDecoder.VERIFIED_JWTS_CACHE);
+    }
+
+    @Test
+    void testSameTokenIsVerifiedOnlyOnce() {
+        Jwt first = cachingJwtDecoder.decode("token");
+        Jwt second = cachingJwtDecoder.decode("token");
+
+        assertThat(second).isSameAs(first);
+        assertThat(delegateCalls).hasValue(1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(TOKEN_CACHE_METER_EXPECTED_NAME).tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testDifferentTokensAreVerifiedSeparately() {
+        cachingJwtDecoder.decode("token");
+        cachingJwtDecoder.decode("other-token");
+
+        assertThat(delegateCalls).hasValue(2);
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        assertThatThrownBy(() -> cachingJwtDecoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> cachingJwtDecoder.decode("invalid")).isInstanceOf(BadJwtException.class);
+
+        assertThat(delegateCalls).hasValue(2);
+    }
+
+    @Test
+    void testEntryExpiresWithToken() {
+        var expiry = new CachingJwtDecoder.TokenExpiry(Duration.ofHours(1));
+
+        assertThat(expiry.getExpiryForCreation("key", jwt("token", Instant.now().plusSeconds(60))))
+            .isPositive()
+            .isLessThanOrEqualTo(Duration.ofSeconds(60));
+        assertThat(expiry.getExpiryForCreation("key", jwt("token", Instant.now().plus(Duration.ofDays(30))))).isEqualTo(Duration.ofHours(1));
+        assertThat(expiry.getExpiryForCreation("key", jwt("token", Instant.now().minusSeconds(60)))).isZero();
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+            .header("alg", SecurityUtils.JWT_ALGORITHM.getName())
+            .subject("user")
+            .issuedAt(expiresAt.minusSeconds(120))
+            .expiresAt(expiresAt)
+            .build();
+    }
+}
@@ -5,8 +5,11 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import io.github.jhipster.sample.IntegrationTest;
 import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.domain.UserPrincipal;
 import io.github.jhipster.sample.repository.UserRepository;
 import io.github.jhipster.sample.service.UserService;
+import io.github.jhipster.sample.service.dto.AdminUserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Locale;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -14,8 +17,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -31,6 +36,8 @@ class DomainUserDetailsServiceIT {
     private static final String USER_TWO_EMAIL = "test-user-two@localhost";
     private static final String USER_THREE_LOGIN = "test-user-three";
     private static final String USER_THREE_EMAIL = "test-user-three@localhost";
+    private static final String USER_FOUR_LOGIN = "test-user-four";
+    private static final String UNKNOWN_USERS_METER_EXPECTED_NAME = "security.authentication.unknown-users";
 
     @Autowired
     private UserRepository userRepository;
@@ -42,6 +49,12 @@ class DomainUserDetailsServiceIT {
     @Qualifier("userDetailsService")
     private UserDetailsService domainUserDetailsService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     public User getUserOne() {
         User userOne = new User();
         userOne.setLogin(USER_ONE_LOGIN);
@@ -90,6 +103,7 @@ class DomainUserDetailsServiceIT {
         userService.deleteUser(USER_ONE_LOGIN);
         userService.deleteUser(USER_TWO_LOGIN);
         userService.deleteUser(USER_THREE_LOGIN);
+        userService.deleteUser(USER_FOUR_LOGIN);
     }
 
     @Test
@@ -133,4 +147,58 @@ class DomainUserDetailsServiceIT {
             domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN)
         );
     }
+
+    @Test
+    void assertThatPrincipalIsCachedByLogin() {
+        domainUserDetailsService.loadUserByUsername(USER_ONE_LOGIN);
+
+        UserPrincipal principal = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(USER_ONE_LOGIN, UserPrincipal.class);
+        assertThat(principal).isNotNull();
+        assertThat(principal.login()).isEqualTo(USER_ONE_LOGIN);
+        assertThat(principal.activated()).isTrue();
+        assertThat(principal.authorities()).isEmpty();
+    }
+
+    @Test
+    void assertThatPrincipalIsCachedByLowercaseEmail() {
+        domainUserDetailsService.loadUserByUsername(USER_TWO_EMAIL.toUpperCase(Locale.ENGLISH));
+
+        UserPrincipal principal = cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get(USER_TWO_EMAIL, UserPrincipal.class);
+        assertThat(principal).isNotNull();
+        assertThat(principal.login()).isEqualTo(USER_TWO_LOGIN);
+    }
+
+    @Test
+    void assertThatUnknownUserIsRejectedFromCache() {
+        double fromCache = unknownUsersCount("cache");
+        double fromDatabase = unknownUsersCount("database");
+
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN)
+        );
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN.toUpperCase(Locale.ENGLISH))
+        );
+
+        assertThat(unknownUsersCount("database")).isEqualTo(fromDatabase + 1);
+        assertThat(unknownUsersCount("cache")).isEqualTo(fromCache + 1);
+    }
+
+    @Test
+    void assertThatCreatedUserIsNoLongerUnknown() {
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() ->
+            domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN)
+        );
+
+        AdminUserDTO userDTO = new AdminUserDTO();
+        userDTO.setLogin(USER_FOUR_LOGIN);
+        userService.createUser(userDTO);
+
+        UserDetails userDetails = domainUserDetailsService.loadUserByUsername(USER_FOUR_LOGIN);
+        assertThat(userDetails.getUsername()).isEqualTo(USER_FOUR_LOGIN);
+    }
+
+    private double unknownUsersCount(String source) {
+        return meterRegistry.get(UNKNOWN_USERS_METER_EXPECTED_NAME).tag("source", source).counter().count();
+    }
 }
@@ -0,0 +1,92 @@
+package io.github.jhipster.sample.security;
+
+import static io.github.jhipster.sample.security.SecurityUtils.AUTHORITIES_CLAIM;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.FactorGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+/**
+ * Test class for the {@link InternedJwtAuthenticationConverter}.
+ */
+class InternedJwtAuthenticationConverterTest {
+
+    private final InternedJwtAuthenticationConverter converter = new InternedJwtAuthenticationConverter();
+
+    @Test
+    void testClaimIsConvertedToAuthorities() {
+        Authentication authentication = converter.convert(jwt("user", AuthoritiesConstants.ADMIN + " " + AuthoritiesConstants.USER));
+
+        assertThat(authentication).isInstanceOf(JwtAuthenticationToken.class);
+        assertThat(authentication.getName()).isEqualTo("user");
+        assertThat(authentication.getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER, FactorGrantedAuthority.BEARER_AUTHORITY);
+    }
+
+    @Test
+    void testSameClaimSharesAuthorities() {
+        Authentication first = converter.convert(jwt("first", AuthoritiesConstants.USER));
+        Authentication second = converter.convert(jwt("second", AuthoritiesConstants.USER));
+        Authentication admin = converter.convert(jwt("admin", AuthoritiesConstants.ADMIN + " " + AuthoritiesConstants.USER));
+
+        assertThat(second.getAuthorities()).isSameAs(first.getAuthorities());
+        assertThat(List.copyOf(admin.getAuthorities()).get(1)).isSameAs(first.getAuthorities().iterator().next());
+    }
+
+    @Test
+    void testSameListClaimSharesAuthorities() {
+        Authentication first = converter.convert(jwt("first", new ArrayList<>(List.of(AuthoritiesConstants.USER))));
+        Authentication second = converter.convert(jwt("second", List.of(AuthoritiesConstants.USER)));
+
+        assertThat(second.getAuthorities()).isSameAs(first.getAuthorities());
+    }
+
+    @Test
+    void testTokensAreComparedWithTheirAuthorities() {
+        Jwt jwt = jwt("user", AuthoritiesConstants.USER);
+
+        Authentication authentication = converter.convert(jwt);
+
+        assertThat(authentication).isEqualTo(converter.convert(jwt)).hasSameHashCodeAs(converter.convert(jwt));
+        assertThat(authentication).isNotEqualTo(new InternedJwtAuthenticationConverter().convert(jwt("user", AuthoritiesConstants.ADMIN)));
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.toString())
+            .startsWith("InternedJwtAuthenticationToken [Name=user, Authenticated=true, Authorities=[ROLE_USER, ")
+            .contains(FactorGrantedAuthority.BEARER_AUTHORITY);
+    }
+
+    @Test
+    void testListClaimAndMissingClaimAreSupported() {
+        Jwt listClaim = Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .subject("user")
+            .issuedAt(Instant.now())
+            .claim(AUTHORITIES_CLAIM, List.of(AuthoritiesConstants.USER))
+            .build();
+        Jwt noClaim = Jwt.withTokenValue("token").header("alg", "HS512").subject("user").issuedAt(Instant.now()).build();
+
+        assertThat(converter.convert(listClaim).getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.USER, FactorGrantedAuthority.BEARER_AUTHORITY);
+        assertThat(converter.convert(noClaim).getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(FactorGrantedAuthority.BEARER_AUTHORITY);
+    }
+
+    private static Jwt jwt(String subject, Object authorities) {
+        return Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .subject(subject)
+            .issuedAt(Instant.now())
+            .claim(AUTHORITIES_CLAIM, authorities)
+            .build();
+    }
+}
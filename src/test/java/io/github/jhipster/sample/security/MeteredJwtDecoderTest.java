@@ -0,0 +1,69 @@
+package io.github.jhipster.sample.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * Test class for the {@link MeteredJwtDecoder}.
+ */
+class MeteredJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private static final OAuth2Error INVALID_TOKEN = new OAuth2Error("invalid_token", "Rejected", null);
+
+    private final OAuth2TokenValidator<Jwt> failingValidator = MeteredJwtDecoder.withExpiredErrorCode(
+        jwt -> OAuth2TokenValidatorResult.failure(INVALID_TOKEN),
+        Clock.fixed(NOW, ZoneOffset.UTC)
+    );
+
+    @Test
+    void testExpiredTokenFailureGetsExpiredErrorCode() {
+        OAuth2TokenValidatorResult result = failingValidator.validate(jwtExpiringAt(NOW.minusSeconds(1)));
+
+        assertThat(result.getErrors()).extracting(OAuth2Error::getErrorCode).contains(MeteredJwtDecoder.EXPIRED_TOKEN_ERROR_CODE);
+        assertThat(MeteredJwtDecoder.Failure.of(new JwtValidationException("Rejected", result.getErrors()))).isEqualTo(
+            MeteredJwtDecoder.Failure.EXPIRED
+        );
+    }
+
+    @Test
+    void testOtherValidationFailureIsUnknown() {
+        OAuth2TokenValidatorResult result = failingValidator.validate(jwtExpiringAt(NOW.plusSeconds(60)));
+
+        assertThat(result.getErrors()).containsExactly(INVALID_TOKEN);
+        assertThat(MeteredJwtDecoder.Failure.of(new JwtValidationException("Rejected", result.getErrors()))).isEqualTo(
+            MeteredJwtDecoder.Failure.UNKNOWN
+        );
+    }
+
+    @Test
+    void testUnsignedTokenIsUnsupported() {
+        assertThat(MeteredJwtDecoder.Failure.of(new BadJwtException("Unsupported algorithm of none"))).isEqualTo(
+            MeteredJwtDecoder.Failure.UNSUPPORTED
+        );
+        assertThat(MeteredJwtDecoder.Failure.of(new JwtException("Unexpected", new IllegalStateException()))).isEqualTo(
+            MeteredJwtDecoder.Failure.UNKNOWN
+        );
+    }
+
+    private static Jwt jwtExpiringAt(Instant expiresAt) {
+        return Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .subject("user")
+            .issuedAt(expiresAt.minusSeconds(60))
+            .expiresAt(expiresAt)
+            .build();
+    }
+}
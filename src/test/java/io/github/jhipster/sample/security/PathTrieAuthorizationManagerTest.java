@@ -0,0 +1,129 @@
+package io.github.jhipster.sample.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.jhipster.sample.config.SecurityConfiguration;
+import io.github.jhipster.sample.security.PathTrieAuthorizationManager.Rule;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.SingleResultAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+/**
+ * Test class for the {@link PathTrieAuthorizationManager}.
+ */
+class PathTrieAuthorizationManagerTest {
+
+    private static final List<String> METHODS = List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "HEAD");
+
+    private static final List<Authentication> AUTHENTICATIONS = List.of(
+        new AnonymousAuthenticationToken("key", "anonymous", AuthorityUtils.createAuthorityList(AuthoritiesConstants.ANONYMOUS)),
+        UsernamePasswordAuthenticationToken.authenticated("user", null, AuthorityUtils.createAuthorityList(AuthoritiesConstants.USER)),
+        UsernamePasswordAuthenticationToken.authenticated("admin", null, AuthorityUtils.createAuthorityList(AuthoritiesConstants.ADMIN))
+    );
+
+    @Test
+    void testDecisionsAreTheSameAsTheRequestMatchersChain() {
+        for (boolean h2Console : new boolean[] { false, true }) {
+            List<Rule> rules = SecurityConfiguration.authorizationRules(h2Console);
+            var trie = PathTrieAuthorizationManager.of(rules);
+            var chain = chain(rules);
+
+            for (String contextPath : List.of("", "/context")) {
+                for (String path : paths(rules)) {
+                    for (String method : METHODS) {
+                        var request = new MockHttpServletRequest(method, contextPath + path);
+                        request.setContextPath(contextPath);
+                        for (Authentication authentication : AUTHENTICATIONS) {
+                            AuthorizationResult expected = chain.authorize(() -> authentication, request);
+                            AuthorizationResult actual = trie.authorize(() -> authentication, new RequestAuthorizationContext(request));
+                            assertThat(actual.isGranted())
+                                .as("%s %s by %s", method, path, authentication.getName())
+                                .isEqualTo(expected.isGranted());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFirstDeclaredRuleWins() {
+        AuthorizationManager<RequestAuthorizationContext> permitAll = SingleResultAuthorizationManager.permitAll();
+        AuthorizationManager<RequestAuthorizationContext> denyAll = SingleResultAuthorizationManager.denyAll();
+        var trie = PathTrieAuthorizationManager.of(
+            List.of(
+                new Rule("/api/**", denyAll),
+                new Rule("/api/public", permitAll),
+                new Rule(HttpMethod.GET, "/*.js", permitAll),
+                new Rule("/app.js", denyAll)
+            )
+        );
+
+        assertThat(trie.match(new MockHttpServletRequest("GET", "/api/public")).pattern()).isEqualTo("/api/**");
+        assertThat(trie.match(new MockHttpServletRequest("GET", "/app.js")).pattern()).isEqualTo("/*.js");
+        assertThat(trie.match(new MockHttpServletRequest("POST", "/app.js")).pattern()).isEqualTo("/app.js");
+        assertThat(trie.match(new MockHttpServletRequest("GET", "/other"))).isNull();
+    }
+
+    @Test
+    void testUnsupportedPatternIsRejected() {
+        AuthorizationManager<RequestAuthorizationContext> permitAll = SingleResultAuthorizationManager.permitAll();
+
+        assertThatThrownBy(() -> PathTrieAuthorizationManager.of(List.of(new Rule("/api/{id}", permitAll)))).isInstanceOf(
+            IllegalArgumentException.class
+        );
+        assertThatThrownBy(() -> PathTrieAuthorizationManager.of(List.of(new Rule("/**/api", permitAll)))).isInstanceOf(
+            IllegalArgumentException.class
+        );
+    }
+
+    private static RequestMatcherDelegatingAuthorizationManager chain(List<Rule> rules) {
+        var builder = RequestMatcherDelegatingAuthorizationManager.builder();
+        for (Rule rule : rules) {
+            builder.add(PathPatternRequestMatcher.withDefaults().matcher(rule.method(), rule.pattern()), rule.manager());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Paths around each rule: the pattern made concrete in several ways, with trailing slashes, other cases,
+     * encoded characters and neighbouring names.
+     */
+    private static Set<String> paths(List<Rule> rules) {
+        Set<String> paths = new LinkedHashSet<>(List.of("", "/", "//", "/index", "/api//admin/users", "/%61pi/admin/users"));
+        for (Rule rule : rules) {
+            String pattern = rule.pattern();
+            List<String> concrete = new ArrayList<>();
+            if (pattern.endsWith("/**")) {
+                String prefix = pattern.substring(0, pattern.length() - 3);
+                concrete.addAll(List.of(prefix, prefix + "/", prefix + "/x", prefix + "/x/y.z", prefix + "x", prefix + "/x/"));
+            } else if (pattern.startsWith("/*.")) {
+                String suffix = pattern.substring(2);
+                String file = "/main" + suffix;
+                concrete.addAll(List.of(file, "/" + suffix, "/a.b" + suffix, "/dir" + file, file + "/", file + "x"));
+            } else {
+                concrete.addAll(List.of(pattern, pattern + "/", pattern + "/x", pattern + "x", pattern.substring(0, pattern.length() - 1)));
+            }
+            for (String path : concrete) {
+                paths.add(path);
+                paths.add(path.toUpperCase());
+            }
+        }
+        return paths;
+    }
+}
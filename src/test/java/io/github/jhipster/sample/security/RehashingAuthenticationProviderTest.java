@@ -0,0 +1,88 @@
+package io.github.jhipster.sample.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import io.github.jhipster.sample.security.DomainUserDetailsService.UserWithId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Test class for the {@link RehashingAuthenticationProvider} and the {@link BCryptCostCalibrator}.
+ */
+class RehashingAuthenticationProviderTest {
+
+    private static final Long USER_ID = 42L;
+
+    private final BCryptPasswordEncoder outdatedEncoder = new BCryptPasswordEncoder(4);
+
+    private final BCryptPasswordEncoder currentEncoder = new BCryptPasswordEncoder(5);
+
+    private final List<String> rehashed = new ArrayList<>();
+
+    private String storedPassword;
+
+    @Test
+    void testOutdatedHashIsUpgradedOnLogin() {
+        storedPassword = outdatedEncoder.encode("password");
+
+        provider(Runnable::run).authenticate(login("password"));
+
+        assertThat(rehashed).singleElement().asString().startsWith(USER_ID + " " + storedPassword + " -> $2a$05$");
+        String upgradedPassword = rehashed.get(0).substring(rehashed.get(0).indexOf(" -> ") + 4);
+        assertThat(currentEncoder.matches("password", upgradedPassword)).isTrue();
+    }
+
+    @Test
+    void testCurrentOrMismatchingHashIsNotUpgraded() {
+        storedPassword = currentEncoder.encode("password");
+        provider(Runnable::run).authenticate(login("password"));
+
+        storedPassword = outdatedEncoder.encode("password");
+        assertThatExceptionOfType(BadCredentialsException.class).isThrownBy(() -> provider(Runnable::run).authenticate(login("wrong")));
+
+        assertThat(rehashed).isEmpty();
+    }
+
+    @Test
+    void testRejectedRehashDoesNotFailTheLogin() {
+        storedPassword = outdatedEncoder.encode("password");
+
+        var authentication = provider(task -> {
+            throw new RejectedExecutionException();
+        }).authenticate(login("password"));
+
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(rehashed).isEmpty();
+    }
+
+    @Test
+    void testCalibratedCostIsTheHighestUnderTarget() {
+        long probeNanos = 10_000_000;
+
+        // Cost 8 takes 10ms, so cost 11 takes 80ms and cost 12 takes 160ms
+        assertThat(BCryptCostCalibrator.costFor(100_000_000, probeNanos, 4, 31)).isEqualTo(11);
+        assertThat(BCryptCostCalibrator.costFor(5_000_000, probeNanos, 4, 31)).isEqualTo(7);
+        assertThat(BCryptCostCalibrator.costFor(100_000_000, probeNanos, 12, 16)).isEqualTo(12);
+        assertThat(BCryptCostCalibrator.costFor(100_000_000_000L, probeNanos, 10, 16)).isEqualTo(16);
+    }
+
+    private RehashingAuthenticationProvider provider(Executor executor) {
+        return new RehashingAuthenticationProvider(
+            login -> new UserWithId(login, storedPassword, List.of(), USER_ID),
+            currentEncoder,
+            executor,
+            () -> (userId, outdatedPassword, upgradedPassword) -> rehashed.add(userId + " " + outdatedPassword + " -> " + upgradedPassword)
+        );
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated("user", password);
+    }
+}
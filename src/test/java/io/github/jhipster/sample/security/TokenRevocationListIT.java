@@ -0,0 +1,68 @@
+package io.github.jhipster.sample.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.domain.RevokedToken;
+import io.github.jhipster.sample.repository.RevokedTokenRepository;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the {@link TokenRevocationList}.
+ */
+@IntegrationTest
+class TokenRevocationListIT {
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @AfterEach
+    void cleanup() {
+        revokedTokenRepository.deleteAll();
+        tokenRevocationList.refresh();
+    }
+
+    @Test
+    void testRevokedTokenIsPersisted() {
+        String jti = UUID.randomUUID().toString();
+
+        tokenRevocationList.revoke(jti, Instant.now().plusSeconds(60));
+
+        assertThat(tokenRevocationList.isRevoked(jti)).isTrue();
+        assertThat(tokenRevocationList.isRevoked(UUID.randomUUID().toString())).isFalse();
+        assertThat(tokenRevocationList.isRevoked(null)).isFalse();
+        assertThat(revokedTokenRepository.existsById(jti)).isTrue();
+    }
+
+    @Test
+    void testRefreshLoadsRevocationsOfOtherInstances() {
+        String jti = UUID.randomUUID().toString();
+        revokedTokenRepository.saveAndFlush(new RevokedToken().jti(jti).expiresAt(Instant.now().plusSeconds(60)));
+        assertThat(tokenRevocationList.isRevoked(jti)).isFalse();
+
+        tokenRevocationList.refresh();
+
+        assertThat(tokenRevocationList.isRevoked(jti)).isTrue();
+    }
+
+    @Test
+    void testRefreshPrunesExpiredRevocations() {
+        String expiredJti = UUID.randomUUID().toString();
+        String activeJti = UUID.randomUUID().toString();
+        tokenRevocationList.revoke(expiredJti, Instant.now().minusSeconds(1));
+        tokenRevocationList.revoke(activeJti, Instant.now().plusSeconds(60));
+
+        tokenRevocationList.refresh();
+
+        assertThat(revokedTokenRepository.existsById(expiredJti)).isFalse();
+        assertThat(tokenRevocationList.isRevoked(expiredJti)).isFalse();
+        assertThat(tokenRevocationList.isRevoked(activeJti)).isTrue();
+    }
+}
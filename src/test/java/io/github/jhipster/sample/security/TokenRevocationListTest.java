@@ -0,0 +1,55 @@
+package io.github.jhipster.sample.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.RevokedToken;
+import io.github.jhipster.sample.repository.RevokedTokenRepository;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link TokenRevocationList}.
+ */
+class TokenRevocationListTest {
+
+    private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+
+    private final TokenRevocationList tokenRevocationList = new TokenRevocationList(
+        revokedTokenRepository,
+        new ApplicationProperties(),
+        mock(PlatformTransactionManager.class)
+    );
+
+    @Test
+    void testMissingTableKeepsTheRevocationsInMemory() {
+        when(revokedTokenRepository.deleteExpired(any())).thenThrow(new InvalidDataAccessResourceUsageException("Table not found"));
+        tokenRevocationList.revoke("revoked", Instant.now().plusSeconds(60));
+
+        tokenRevocationList.refresh();
+        tokenRevocationList.refresh();
+
+        assertThat(tokenRevocationList.isRevoked("revoked")).isTrue();
+    }
+
+    @Test
+    void testRevocationsAreLoadedOnceTheTableExists() {
+        when(revokedTokenRepository.deleteExpired(any()))
+            .thenThrow(new InvalidDataAccessResourceUsageException("Table not found"))
+            .thenReturn(0);
+        tokenRevocationList.refresh();
+
+        when(revokedTokenRepository.findAllByExpiresAtAfter(any())).thenReturn(
+            List.of(new RevokedToken().jti("revoked").expiresAt(Instant.now().plusSeconds(60)))
+        );
+        tokenRevocationList.refresh();
+
+        assertThat(tokenRevocationList.isRevoked("revoked")).isTrue();
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.jhipster.sample.security.jwt;
 
+import io.github.jhipster.sample.config.ApplicationProperties;
 import io.github.jhipster.sample.config.SecurityConfiguration;
 import io.github.jhipster.sample.config.SecurityJwtConfiguration;
 import io.github.jhipster.sample.config.WebConfigurer;
@@ -21,6 +22,7 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
@@ -20,6 +20,8 @@ class TokenAuthenticationSecurityMetersIT {
 
     private static final String INVALID_TOKENS_METER_EXPECTED_NAME = "security.authentication.invalid-tokens";
 
+    private static final String TOKEN_DECODING_METER_EXPECTED_NAME = "security.authentication.token-decoding";
+
     @Autowired
     private MockMvc mvc;
 
@@ -78,6 +80,26 @@ class TokenAuthenticationSecurityMetersIT {
         assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "malformed").counter().count()).isEqualTo(count + 1);
     }
 
+    @Test
+    void testTokenUnsupportedCount() throws Exception {
+        var count = meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "unsupported").counter().count();
+
+        tryToAuthenticate(createTokenWithUnsupportedAlgorithm(jwtKey));
+
+        assertThat(meterRegistry.get(INVALID_TOKENS_METER_EXPECTED_NAME).tag("cause", "unsupported").counter().count()).isEqualTo(
+            count + 1
+        );
+    }
+
+    @Test
+    void testTokenDecodingIsTimed() throws Exception {
+        var count = meterRegistry.get(TOKEN_DECODING_METER_EXPECTED_NAME).tag("outcome", "success").timer().count();
+
+        tryToAuthenticate(createValidToken(jwtKey));
+
+        assertThat(meterRegistry.get(TOKEN_DECODING_METER_EXPECTED_NAME).tag("outcome", "success").timer().count()).isEqualTo(count + 1);
+    }
+
     private void tryToAuthenticate(String token) throws Exception {
         mvc.perform(MockMvcRequestBuilders.get("/api/authenticate").header(AUTHORIZATION, BEARER + token));
     }
@@ -0,0 +1,133 @@
+package io.github.jhipster.sample.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.domain.OutgoingMail;
+import io.github.jhipster.sample.management.MailMetersService;
+import io.github.jhipster.sample.repository.OutgoingMailRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Integration tests for the {@link MailOutboxDispatcher}, against a {@link FakeSmtpServer}.
+ */
+@IntegrationTest
+class MailOutboxDispatcherIT {
+
+    private static FakeSmtpServer smtpServer;
+
+    @Autowired
+    private MailService mailService;
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private OutgoingMailRepository outgoingMailRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void smtpServerProperties(DynamicPropertyRegistry registry) throws IOException {
+        smtpServer = new FakeSmtpServer();
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", smtpServer::getPort);
+        registry.add("application.mail-outbox.batch-size", () -> 10);
+        registry.add("application.mail-outbox.max-attempts", () -> 2);
+        registry.add("application.mail-outbox.initial-backoff", () -> "PT30S");
+    }
+
+    @AfterAll
+    static void stopSmtpServer() throws IOException {
+        smtpServer.close();
+    }
+
+    @BeforeEach
+    void setup() {
+        outgoingMailRepository.deleteAll();
+        smtpServer.reset();
+    }
+
+    @Test
+    void testMailsAreSentInBatchesOverOneConnectionEach() throws Exception {
+        double sentBefore = mails("sent");
+        long batchesBefore = meterRegistry.get(MailMetersService.BATCH_SIZE_METER_NAME).summary().count();
+        for (int i = 0; i < 25; i++) {
+            mailService.sendEmail("user" + i + "@example.com", "Subject " + i, "Content " + i, false, false);
+        }
+
+        mailOutboxDispatcher.dispatch();
+
+        assertThat(smtpServer.getReceived()).hasSize(25);
+        assertThat(smtpServer.getConnections()).isEqualTo(3);
+        assertThat(outgoingMailRepository.count()).isZero();
+        FakeSmtpServer.Received first = smtpServer.getReceived().getFirst();
+        assertThat(first.recipients()).containsExactly("user0@example.com");
+        MimeMessage message = new MimeMessage((Session) null, new ByteArrayInputStream(first.data().getBytes(StandardCharsets.UTF_8)));
+        assertThat(message.getSubject()).isEqualTo("Subject 0");
+        assertThat(message.getContent().toString()).isEqualToIgnoringNewLines("Content 0");
+        assertThat(mails("sent") - sentBefore).isEqualTo(25);
+        assertThat(meterRegistry.get(MailMetersService.BATCH_SIZE_METER_NAME).summary().count() - batchesBefore).isEqualTo(3);
+        assertThat(meterRegistry.get(MailMetersService.PENDING_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void testFailedMailsAreRetriedWithBackoffThenAbandoned() {
+        double retriedBefore = mails("retried");
+        double abandonedBefore = mails("abandoned");
+        smtpServer.rejectRecipient("bounce@example.com");
+        mailService.sendEmail("john.doe@example.com", "Subject", "Content", false, false);
+        mailService.sendEmail("bounce@example.com", "Subject", "Content", false, false);
+
+        mailOutboxDispatcher.dispatch();
+
+        assertThat(smtpServer.getReceived()).extracting(FakeSmtpServer.Received::recipients).containsExactly(
+            List.of("john.doe@example.com")
+        );
+        OutgoingMail bounced = outgoingMailRepository.findAll().getFirst();
+        assertThat(outgoingMailRepository.count()).isEqualTo(1);
+        assertThat(bounced.getRecipient()).isEqualTo("bounce@example.com");
+        assertThat(bounced.getAttempts()).isEqualTo(1);
+        assertThat(bounced.getNextAttemptAt()).isCloseTo(Instant.now().plusSeconds(30), within(10, ChronoUnit.SECONDS));
+        assertThat(bounced.getLastError()).isNotBlank();
+        assertThat(mails("retried") - retriedBefore).isEqualTo(1);
+
+        // Not due yet
+        mailOutboxDispatcher.dispatch();
+        assertThat(outgoingMailRepository.findAll().getFirst().getAttempts()).isEqualTo(1);
+
+        bounced.setNextAttemptAt(Instant.now());
+        outgoingMailRepository.save(bounced);
+        mailOutboxDispatcher.dispatch();
+
+        OutgoingMail abandoned = outgoingMailRepository.findAll().getFirst();
+        assertThat(abandoned.getAttempts()).isEqualTo(2);
+        assertThat(abandoned.getNextAttemptAt()).isNull();
+        assertThat(mails("abandoned") - abandonedBefore).isEqualTo(1);
+        assertThat(smtpServer.getReceived()).hasSize(1);
+    }
+
+    private double mails(String outcome) {
+        return meterRegistry
+            .get(MailMetersService.MAILS_METER_NAME)
+            .tag(MailMetersService.MAILS_METER_OUTCOME_DIMENSION, outcome)
+            .counter()
+            .count();
+    }
+}
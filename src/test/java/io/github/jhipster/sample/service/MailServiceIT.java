@@ -7,6 +7,9 @@ import static org.mockito.Mockito.*;
 import io.github.jhipster.sample.IntegrationTest;
 import io.github.jhipster.sample.config.Constants;
 import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.repository.OutgoingMailRepository;
+import io.github.jhipster.sample.repository.UserRepository;
+import jakarta.mail.MessagingException;
 import jakarta.mail.Multipart;
 import jakarta.mail.Session;
 import jakarta.mail.internet.MimeBodyPart;
@@ -18,14 +21,20 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.MailSendException;
@@ -54,23 +63,38 @@ class MailServiceIT {
     @MockitoBean
     private JavaMailSender javaMailSender;
 
-    @Captor
-    private ArgumentCaptor<MimeMessage> messageCaptor;
+    private final ArgumentCaptor<MimeMessage[]> messagesCaptor = ArgumentCaptor.forClass(MimeMessage[].class);
 
     @Autowired
     private MailService mailService;
 
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private OutgoingMailRepository outgoingMailRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> savedUsers = new ArrayList<>();
+
     @BeforeEach
     void setup() {
-        doNothing().when(javaMailSender).send(any(MimeMessage.class));
-        when(javaMailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
+        outgoingMailRepository.deleteAll();
+        doNothing().when(javaMailSender).send(any(MimeMessage[].class));
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+    }
+
+    @AfterEach
+    void cleanup() {
+        userRepository.deleteAll(savedUsers);
     }
 
     @Test
     void testSendEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = dispatchedMessage();
         assertThat(message.getSubject()).isEqualTo("testSubject");
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -82,8 +106,7 @@ class MailServiceIT {
     @Test
     void testSendHtmlEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = dispatchedMessage();
         assertThat(message.getSubject()).isEqualTo("testSubject");
         assertThat(message.getAllRecipients()[0]).hasToString("john.doe@example.com");
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -95,8 +118,7 @@ class MailServiceIT {
     @Test
     void testSendMultipartEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, false);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = dispatchedMessage();
         MimeMultipart mp = (MimeMultipart) message.getContent();
         MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
         ByteArrayOutputStream aos = new ByteArrayOutputStream();
@@ -112,8 +134,7 @@ class MailServiceIT {
     @Test
     void testSendMultipartHtmlEmail() throws Exception {
         mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", true, true);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = dispatchedMessage();
         MimeMultipart mp = (MimeMultipart) message.getContent();
         MimeBodyPart part = (MimeBodyPart) ((MimeMultipart) mp.getBodyPart(0).getContent()).getBodyPart(0);
         ByteArrayOutputStream aos = new ByteArrayOutputStream();
@@ -128,13 +149,9 @@ class MailServiceIT {
 
     @Test
     void testSendEmailFromTemplate() throws Exception {
-        User user = new User();
-        user.setLangKey(Constants.DEFAULT_LANGUAGE);
-        user.setLogin("john");
-        user.setEmail("john.doe@example.com");
+        User user = user("john");
         mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = dispatchedMessage();
         assertThat(message.getSubject()).isEqualTo("test title");
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
@@ -144,13 +161,9 @@ class MailServiceIT {
 
     @Test
     void testSendActivationEmail() throws Exception {
-        User user = new User();
-        user.setLangKey(Constants.DEFAULT_LANGUAGE);
-        user.setLogin("john");
-        user.setEmail("john.doe@example.com");
+        User user = user("john");
         mailService.sendActivationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = dispatchedMessage();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -159,13 +172,9 @@ class MailServiceIT {
 
     @Test
     void testCreationEmail() throws Exception {
-        User user = new User();
-        user.setLangKey(Constants.DEFAULT_LANGUAGE);
-        user.setLogin("john");
-        user.setEmail("john.doe@example.com");
+        User user = user("john");
         mailService.sendCreationEmail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = dispatchedMessage();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
@@ -174,39 +183,116 @@ class MailServiceIT {
 
     @Test
     void testSendPasswordResetMail() throws Exception {
-        User user = new User();
-        user.setLangKey(Constants.DEFAULT_LANGUAGE);
-        user.setLogin("john");
-        user.setEmail("john.doe@example.com");
+        User user = user("john");
         mailService.sendPasswordResetMail(user);
-        verify(javaMailSender).send(messageCaptor.capture());
-        MimeMessage message = messageCaptor.getValue();
+        MimeMessage message = dispatchedMessage();
         assertThat(message.getAllRecipients()[0]).hasToString(user.getEmail());
         assertThat(message.getFrom()[0]).hasToString(jHipsterProperties.getMail().getFrom());
         assertThat(message.getContent().toString()).isNotEmpty();
         assertThat(message.getDataHandler().getContentType()).isEqualTo("text/html;charset=UTF-8");
     }
 
+    @Test
+    void testSendEmailFromTemplateToManyUsers() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            mailService.sendEmailFromTemplate(user("john" + i), "mail/testEmail", "email.test.title");
+        }
+        mailOutboxDispatcher.dispatch();
+        verify(javaMailSender).send(messagesCaptor.capture());
+        MimeMessage[] messages = messagesCaptor.getValue();
+        assertThat(messages).hasSize(40);
+        for (int i = 0; i < messages.length; i++) {
+            assertThat(messages[i].getSubject()).isEqualTo("test title");
+            assertThat(messages[i].getAllRecipients()[0]).hasToString("john.doe" + i + "@example.com");
+            assertThat(messages[i].getContent().toString()).isEqualToNormalizingNewlines(
+                "<html>test title, http://127.0.0.1:8080, john" + i + "</html>\n"
+            );
+        }
+    }
+
+    @Test
+    void testSendEmailFromTemplateIsRenderedWhenSent() throws Exception {
+        User user = user("john");
+        mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
+
+        assertThat(outgoingMailRepository.findAll())
+            .singleElement()
+            .satisfies(mail -> {
+                assertThat(mail.getUserId()).isEqualTo(user.getId());
+                assertThat(mail.getTemplateName()).isEqualTo("mail/testEmail");
+                assertThat(mail.getLangKey()).isEqualTo(Constants.DEFAULT_LANGUAGE);
+                assertThat(mail.getContent()).isNull();
+            });
+
+        user.setLogin("jane");
+        userRepository.saveAndFlush(user);
+        MimeMessage message = dispatchedMessage();
+        assertThat(message.getSubject()).isEqualTo("test title");
+        assertThat(message.getContent().toString()).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, jane</html>\n");
+    }
+
+    @Test
+    void testSendEmailFromMissingTemplateIsRetried() {
+        mailService.sendEmailFromTemplate(user("john"), "mail/missingEmail", "email.test.title");
+
+        mailOutboxDispatcher.dispatch();
+
+        verify(javaMailSender, never()).send(any(MimeMessage[].class));
+        assertThat(outgoingMailRepository.findAll())
+            .singleElement()
+            .satisfies(mail -> {
+                assertThat(mail.getAttempts()).isEqualTo(1);
+                assertThat(mail.getNextAttemptAt()).isAfter(Instant.now());
+                assertThat(mail.getLastError()).contains("mail/missingEmail");
+            });
+    }
+
     @Test
     void testSendEmailWithException() {
-        doThrow(MailSendException.class).when(javaMailSender).send(any(MimeMessage.class));
+        doAnswer(invocation -> {
+            Map<Object, Exception> failedMessages = new HashMap<>();
+            for (Object message : invocation.getArguments()) {
+                failedMessages.put(message, new MessagingException("Connection refused"));
+            }
+            throw new MailSendException("Mail server connection failed", null, failedMessages);
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
         try {
             mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
+            mailOutboxDispatcher.dispatch();
         } catch (Exception e) {
             fail("Exception shouldn't have been thrown");
         }
+        assertThat(outgoingMailRepository.findAll())
+            .singleElement()
+            .satisfies(mail -> {
+                assertThat(mail.getAttempts()).isEqualTo(1);
+                assertThat(mail.getNextAttemptAt()).isAfter(Instant.now());
+                assertThat(mail.getLastError()).isEqualTo("Connection refused");
+            });
+    }
+
+    @Test
+    void testSendEmailIsQueuedUntilDispatched() {
+        mailService.sendEmail("john.doe@example.com", "testSubject", "testContent", false, false);
+
+        verify(javaMailSender, never()).send(any(MimeMessage[].class));
+        assertThat(outgoingMailRepository.findAll()).singleElement().satisfies(mail -> assertThat(mail.getAttempts()).isZero());
+
+        mailOutboxDispatcher.dispatch();
+
+        verify(javaMailSender).send(any(MimeMessage[].class));
+        assertThat(outgoingMailRepository.findAll()).isEmpty();
     }
 
     @Test
     void testSendLocalizedEmailForAllSupportedLanguages() throws Exception {
-        User user = new User();
-        user.setLogin("john");
-        user.setEmail("john.doe@example.com");
+        User user = user("john");
         for (String langKey : languages) {
             user.setLangKey(langKey);
             mailService.sendEmailFromTemplate(user, "mail/testEmail", "email.test.title");
-            verify(javaMailSender, atLeastOnce()).send(messageCaptor.capture());
-            MimeMessage message = messageCaptor.getValue();
+            MimeMessage message = dispatchedMessage();
 
             String propertyFilePath = "i18n/messages_" + getMessageSourceSuffixForLanguage(langKey) + ".properties";
             URL resource = this.getClass().getClassLoader().getResource(propertyFilePath);
@@ -222,6 +308,30 @@ class MailServiceIT {
         }
     }
 
+    /**
+     * Save a user, deleted after the test with its pending mails.
+     */
+    private User user(String login) {
+        User user = new User();
+        user.setLangKey(Constants.DEFAULT_LANGUAGE);
+        user.setLogin(login);
+        user.setEmail(login.replace("john", "john.doe") + "@example.com");
+        user.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+        savedUsers.add(userRepository.saveAndFlush(user));
+        return user;
+    }
+
+    /**
+     * Send the queued mails and return the last one sent.
+     */
+    private MimeMessage dispatchedMessage() {
+        clearInvocations(javaMailSender);
+        mailOutboxDispatcher.dispatch();
+        verify(javaMailSender).send(messagesCaptor.capture());
+        MimeMessage[] messages = messagesCaptor.getValue();
+        return messages[messages.length - 1];
+    }
+
     /**
      * Convert a lang key to the Java locale.
      */
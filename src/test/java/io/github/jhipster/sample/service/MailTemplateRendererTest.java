@@ -0,0 +1,97 @@
+package io.github.jhipster.sample.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.service.MailTemplateRenderer.RenderedMail;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Test class for the {@link MailTemplateRenderer}.
+ */
+class MailTemplateRendererTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private final MailTemplateRenderer renderer = new MailTemplateRenderer(
+        templateEngine(),
+        messageSource(),
+        "http://127.0.0.1:8080",
+        executor,
+        4
+    );
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testRenderAllUsesTheGivenLanguage() {
+        List<RenderedMail> mails = renderer.renderAll(List.of(user(1)), "mail/testEmail", "email.test.title", "en");
+
+        assertThat(mails)
+            .singleElement()
+            .satisfies(mail -> {
+                assertThat(mail.to()).isEqualTo("user1@example.com");
+                assertThat(mail.subject()).isEqualTo("test title");
+                assertThat(mail.content()).isEqualToNormalizingNewlines("<html>test title, http://127.0.0.1:8080, user1</html>\n");
+            });
+    }
+
+    @Test
+    void testRenderAllGivesTheSameMailsInTheSameOrder() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            users.add(user(i));
+        }
+
+        List<RenderedMail> mails = renderer.renderAll(users, "mail/activationEmail", "email.activation.title", "en");
+
+        assertThat(mails).hasSize(100);
+        List<RenderedMail> expected = users
+            .stream()
+            .map(user -> renderer.renderAll(List.of(user), "mail/activationEmail", "email.activation.title", "en").getFirst())
+            .toList();
+        assertThat(mails).containsExactlyElementsOf(expected);
+        assertThat(mails.get(0).content()).contains("user0", "key0");
+    }
+
+    private static User user(int i) {
+        User user = new User();
+        user.setLogin("user" + i);
+        user.setEmail("user" + i + "@example.com");
+        user.setLangKey("en");
+        user.setActivationKey("key" + i);
+        return user;
+    }
+
+    static SpringTemplateEngine templateEngine() {
+        var templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        var templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource());
+        return templateEngine;
+    }
+
+    static ResourceBundleMessageSource messageSource() {
+        var messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return messageSource;
+    }
+}
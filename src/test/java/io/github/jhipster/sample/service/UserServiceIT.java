@@ -4,11 +4,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.domain.JobCheckpoint;
 import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.management.UserCleanupMetersService;
+import io.github.jhipster.sample.repository.AuthorityRepository;
+import io.github.jhipster.sample.repository.JobCheckpointRepository;
+import io.github.jhipster.sample.repository.OutgoingMailRepository;
 import io.github.jhipster.sample.repository.UserRepository;
+import io.github.jhipster.sample.security.AuthoritiesConstants;
+import io.github.jhipster.sample.security.SecurityUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -21,6 +31,9 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
 import tech.jhipster.security.RandomUtil;
@@ -56,6 +69,21 @@ class UserServiceIT {
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Autowired
+    private OutgoingMailRepository outgoingMailRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private DateTimeProvider dateTimeProvider;
 
@@ -111,6 +139,24 @@ class UserServiceIT {
         assertThat(maybeUser.orElse(null).getResetKey()).isNotNull();
     }
 
+    @Test
+    @Transactional
+    void assertThatPasswordResetMailIsQueuedWithTheReset() {
+        userRepository.saveAndFlush(user);
+
+        userService.requestPasswordReset(user.getEmail());
+
+        assertThat(outgoingMailRepository.findAll())
+            .filteredOn(mail -> user.getId().equals(mail.getUserId()))
+            .singleElement()
+            .satisfies(mail -> {
+                assertThat(mail.getRecipient()).isEqualTo(user.getEmail());
+                assertThat(mail.getTemplateName()).isEqualTo("mail/passwordResetEmail");
+                assertThat(mail.getLangKey()).isEqualTo(DEFAULT_LANGKEY);
+                assertThat(mail.getContent()).isNull();
+            });
+    }
+
     @Test
     @Transactional
     void assertThatOnlyActivatedUserCanRequestPasswordReset() {
@@ -205,4 +251,74 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersAreDeletedByChunksAfterTheCheckpoint() {
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(Instant.now().minus(4, ChronoUnit.DAYS)));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User notActivated = new User();
+            notActivated.setLogin("not_activated_" + i);
+            notActivated.setPassword(RandomStringUtils.insecure().nextAlphanumeric(60));
+            notActivated.setEmail("not_activated_" + i + "@localhost");
+            notActivated.setLangKey(DEFAULT_LANGKEY);
+            notActivated.setActivationKey(RandomStringUtils.insecure().next(20));
+            notActivated.getAuthorities().add(authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow());
+            users.add(userRepository.saveAndFlush(notActivated));
+        }
+        // A previous run was interrupted after the chunk ending with the first user
+        jobCheckpointRepository.saveAndFlush(
+            new JobCheckpoint().name(UserService.REMOVE_NOT_ACTIVATED_USERS_JOB).lastId(users.getFirst().getId())
+        );
+        Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+        usersByLogin.put("not_activated_3", "cached");
+        double deletedUsers = deletedRows("jhi_user");
+        double deletedAuthorities = deletedRows("jhi_user_authority");
+        int chunkSize = applicationProperties.getUserCleanup().getChunkSize();
+        applicationProperties.getUserCleanup().setChunkSize(2);
+        try {
+            userService.removeNotActivatedUsers();
+        } finally {
+            applicationProperties.getUserCleanup().setChunkSize(chunkSize);
+        }
+
+        assertThat(userRepository.findAllById(users.stream().map(User::getId).toList()))
+            .extracting(User::getLogin)
+            .containsExactly("not_activated_0");
+        assertThat(jobCheckpointRepository.findById(UserService.REMOVE_NOT_ACTIVATED_USERS_JOB)).isEmpty();
+        assertThat(usersByLogin.get("not_activated_3")).isNull();
+        assertThat(deletedRows("jhi_user") - deletedUsers).isEqualTo(4);
+        assertThat(deletedRows("jhi_user_authority") - deletedAuthorities).isEqualTo(4);
+        assertThat(meterRegistry.get(UserCleanupMetersService.THROUGHPUT_METER_NAME).gauge().value()).isPositive();
+        userRepository.delete(users.getFirst());
+    }
+
+    @Test
+    void assertThatCurrentUserIsFoundByTokenUserId() {
+        userRepository.saveAndFlush(user);
+        var now = Instant.now();
+        // The subject is not the login, e.g. the login was changed after the token was issued
+        var jwt = Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .subject("former-login")
+            .issuedAt(now)
+            .expiresAt(now.plusSeconds(60))
+            .claim(SecurityUtils.USER_ID_CLAIM, user.getId())
+            .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+        try {
+            assertThat(userService.getUserWithAuthorities()).map(User::getLogin).contains(DEFAULT_LOGIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private double deletedRows(String table) {
+        return meterRegistry
+            .get(UserCleanupMetersService.ROWS_METER_NAME)
+            .tag(UserCleanupMetersService.ROWS_METER_TABLE_DIMENSION, table)
+            .counter()
+            .count();
+    }
 }
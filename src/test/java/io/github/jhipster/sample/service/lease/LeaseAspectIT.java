@@ -0,0 +1,288 @@
+package io.github.jhipster.sample.service.lease;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.sample.domain.JobLease;
+import io.github.jhipster.sample.management.LeaseMetersService;
+import io.github.jhipster.sample.repository.JobLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link LeaseAspect}, with several application contexts, as several instances of the
+ * application, sharing one H2 database.
+ */
+class LeaseAspectIT {
+
+    private static final String DATABASE_URL = "jdbc:h2:mem:leases;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000";
+
+    private static final String LEASE = "job";
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static List<AnnotationConfigApplicationContext> instances;
+
+    @BeforeAll
+    static void startInstances() {
+        instances = IntStream.range(0, 3).mapToObj(i -> new AnnotationConfigApplicationContext(LeaseTestConfiguration.class)).toList();
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        instances.forEach(AnnotationConfigApplicationContext::close);
+    }
+
+    @Test
+    void testJobRunsOnOneInstanceAtATime() throws Exception {
+        var started = new CountDownLatch(1);
+        var finish = new CountDownLatch(1);
+        job(0).setBody(() -> {
+            started.countDown();
+            await(finish);
+        });
+        double renewed = count(0, LeaseMetersService.RENEWALS_METER_NAME, "renewed");
+        double skipped = count(1, LeaseMetersService.ACQUISITIONS_METER_NAME, "skipped");
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> job(0).run());
+        assertThat(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        job(1).run();
+        // Longer than the time to live of the lease, renewed meanwhile
+        Thread.sleep(1500);
+        job(1).run();
+        job(2).run();
+
+        assertThat(job(1).getRuns()).isZero();
+        assertThat(job(2).getRuns()).isZero();
+        assertThat(count(1, LeaseMetersService.ACQUISITIONS_METER_NAME, "skipped") - skipped).isEqualTo(2);
+        assertThat(count(0, LeaseMetersService.RENEWALS_METER_NAME, "renewed") - renewed).isPositive();
+        finish.countDown();
+        running.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Released, acquired at once with a greater fencing token
+        job(2).run();
+        assertThat(job(2).getRuns()).isOne();
+        assertThat(job(2).getTokens().getLast()).isGreaterThan(job(0).getTokens().getLast());
+    }
+
+    @Test
+    void testJobStopsWhenItsLeaseIsTakenOver() throws Exception {
+        var started = new CountDownLatch(1);
+        var proceed = new CountDownLatch(1);
+        job(0).setBody(() -> {
+            started.countDown();
+            await(proceed);
+            transactionTemplate(0).executeWithoutResult(status -> instances.getFirst().getBean(LeaseService.class).checkHeld());
+        });
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> job(0).run());
+        assertThat(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        // The first instance stops renewing its lease, e.g. during a long pause, and the lease expires
+        JobLeaseRepository jobLeaseRepository = instances.get(1).getBean(JobLeaseRepository.class);
+        JobLease expired = jobLeaseRepository.findById(LEASE).orElseThrow();
+        jobLeaseRepository.save(expired.expiresAt(Instant.now().minusSeconds(1)));
+        LeaseService leaseService = instances.get(1).getBean(LeaseService.class);
+        Optional<Lease> takenOver = leaseService.tryAcquire(LEASE, Duration.ofSeconds(1));
+        assertThat(takenOver).map(Lease::token).get().isEqualTo(expired.getToken() + 1);
+        proceed.countDown();
+
+        assertThat(running)
+            .failsWithin(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .withThrowableThat()
+            .havingRootCause()
+            .isInstanceOf(LeaseLostException.class);
+        leaseService.release(takenOver.orElseThrow());
+    }
+
+    @Test
+    void testTakeOverWaitsForTheWritesOfTheHolder() throws Exception {
+        var locked = new CountDownLatch(1);
+        var commit = new CountDownLatch(1);
+        job(0).setBody(() ->
+            transactionTemplate(0).executeWithoutResult(status -> {
+                instances.getFirst().getBean(LeaseService.class).checkHeld();
+                locked.countDown();
+                await(commit);
+            })
+        );
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> job(0).run());
+        assertThat(locked.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+        // Another instance acquires the lease as if it had expired, the acquired lease expiring at once
+        JobLeaseRepository jobLeaseRepository = instances.get(1).getBean(JobLeaseRepository.class);
+        CompletableFuture<Integer> takeOver = CompletableFuture.supplyAsync(() ->
+            transactionTemplate(1).execute(status ->
+                jobLeaseRepository.acquireExpired(LEASE, "other", Instant.now().plusSeconds(60), Instant.now())
+            )
+        );
+        Thread.sleep(500);
+        assertThat(takeOver).isNotDone();
+        commit.countDown();
+
+        assertThat(takeOver.get(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isOne();
+        running.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static TestJob job(int instance) {
+        return instances.get(instance).getBean(TestJob.class);
+    }
+
+    private static TransactionTemplate transactionTemplate(int instance) {
+        return new TransactionTemplate(instances.get(instance).getBean(PlatformTransactionManager.class));
+    }
+
+    private static double count(int instance, String name, String outcome) {
+        Counter counter = instances
+            .get(instance)
+            .getBean(MeterRegistry.class)
+            .find(name)
+            .tags(LeaseMetersService.LEASE_DIMENSION, LEASE, LeaseMetersService.OUTCOME_DIMENSION, outcome)
+            .counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class TestJob {
+
+        private final LeaseService leaseService;
+
+        private final AtomicInteger runs = new AtomicInteger();
+
+        private final List<Long> tokens = new CopyOnWriteArrayList<>();
+
+        private volatile Runnable body = () -> {};
+
+        public TestJob(LeaseService leaseService) {
+            this.leaseService = leaseService;
+        }
+
+        @Leased(name = LEASE, ttl = "PT1S")
+        public void run() {
+            runs.incrementAndGet();
+            tokens.add(leaseService.current().orElseThrow().token());
+            body.run();
+        }
+
+        // Fields are read and written through methods, as the job is proxied
+
+        public void setBody(Runnable body) {
+            this.body = body;
+        }
+
+        public int getRuns() {
+            return runs.get();
+        }
+
+        public List<Long> getTokens() {
+            return List.copyOf(tokens);
+        }
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    @EnableTransactionManagement
+    @EnableJpaRepositories(
+        basePackageClasses = JobLeaseRepository.class,
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JobLeaseRepository.class)
+    )
+    static class LeaseTestConfiguration {
+
+        @Bean
+        public DataSource dataSource() {
+            return new DriverManagerDataSource(DATABASE_URL, "sa", "");
+        }
+
+        @Bean
+        public SpringLiquibase liquibase(DataSource dataSource) {
+            var liquibase = new SpringLiquibase();
+            liquibase.setDataSource(dataSource);
+            liquibase.setChangeLog("classpath:config/liquibase/changelog/20260305000000_added_entity_JobLease.xml");
+            liquibase.setChangeLogParameters(Map.of("datetimeType", "datetime(6)"));
+            return liquibase;
+        }
+
+        @Bean
+        @DependsOn("liquibase")
+        public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            var entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+            entityManagerFactory.setDataSource(dataSource);
+            entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            entityManagerFactory.setManagedTypes(PersistenceManagedTypes.of(JobLease.class.getName()));
+            return entityManagerFactory;
+        }
+
+        @Bean
+        public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public LeaseMetersService leaseMetersService(MeterRegistry meterRegistry) {
+            return new LeaseMetersService(meterRegistry);
+        }
+
+        @Bean
+        public LeaseService leaseService(
+            JobLeaseRepository jobLeaseRepository,
+            LeaseMetersService leaseMetersService,
+            PlatformTransactionManager transactionManager
+        ) {
+            return new LeaseService(jobLeaseRepository, leaseMetersService, transactionManager);
+        }
+
+        @Bean
+        public LeaseAspect leaseAspect(LeaseService leaseService, LeaseMetersService leaseMetersService) {
+            return new LeaseAspect(leaseService, leaseMetersService);
+        }
+
+        @Bean
+        public TestJob testJob(LeaseService leaseService) {
+            return new TestJob(leaseService);
+        }
+    }
+}
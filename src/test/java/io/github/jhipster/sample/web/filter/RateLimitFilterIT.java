@@ -0,0 +1,106 @@
+package io.github.jhipster.sample.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.github.jhipster.sample.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Integration tests for the {@link RateLimitFilter}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@TestPropertySource(
+    properties = {
+        "application.security.rate-limit.enabled=true",
+        "application.security.rate-limit.per-login.capacity=2",
+        "application.security.rate-limit.per-login.period=1h",
+        "application.security.rate-limit.per-ip.capacity=5",
+        "application.security.rate-limit.per-ip.period=1h",
+    }
+)
+class RateLimitFilterIT {
+
+    private static final String REJECTED_METER_NAME = "security.rate-limit.rejected";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testAuthenticationIsLimitedPerLogin() throws Exception {
+        double rejected = rejected("login");
+
+        mockMvc.perform(authenticate("rate-limited-login", "10.0.0.1")).andExpect(status().isUnauthorized());
+        // Logins are case-insensitive, the body is still readable by the controller
+        mockMvc.perform(authenticate("Rate-Limited-Login", "10.0.0.2")).andExpect(status().isUnauthorized());
+        String retryAfter = mockMvc
+            .perform(authenticate("rate-limited-login", "10.0.0.3"))
+            .andExpect(status().isTooManyRequests())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.RETRY_AFTER);
+        // The next token comes half an hour after the first request
+        assertThat(Long.parseLong(retryAfter)).isBetween(1700L, 1800L);
+        mockMvc.perform(authenticate("other-login", "10.0.0.3")).andExpect(status().isUnauthorized());
+
+        assertThat(rejected("login")).isEqualTo(rejected + 1);
+    }
+
+    @Test
+    void testPasswordResetIsLimitedPerIp() throws Exception {
+        double rejected = rejected("ip");
+
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(resetPassword("rate-limited-" + i + "@example.com", "10.0.1.1")).andExpect(status().isOk());
+        }
+        String retryAfter = mockMvc
+            .perform(resetPassword("rate-limited-5@example.com", "10.0.1.1"))
+            .andExpect(status().isTooManyRequests())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.RETRY_AFTER);
+        // The next token comes 12 minutes after the first request
+        assertThat(Long.parseLong(retryAfter)).isBetween(620L, 720L);
+        // Each endpoint has its own buckets
+        mockMvc.perform(authenticate("rate-limited-ip", "10.0.1.1")).andExpect(status().isUnauthorized());
+
+        assertThat(rejected("ip")).isEqualTo(rejected + 1);
+        assertThat(meterRegistry.get("security.rate-limit.tracked-keys").tag("key", "ip").gauge().value()).isPositive();
+    }
+
+    private static MockHttpServletRequestBuilder authenticate(String username, String remoteAddress) {
+        return post("/api/authenticate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"username\":\"" + username + "\",\"password\":\"wrong-password\"}")
+            .with(request -> {
+                request.setRemoteAddr(remoteAddress);
+                return request;
+            });
+    }
+
+    private static MockHttpServletRequestBuilder resetPassword(String email, String remoteAddress) {
+        return post("/api/account/reset-password/init")
+            .content(email)
+            .with(request -> {
+                request.setRemoteAddr(remoteAddress);
+                return request;
+            });
+    }
+
+    private double rejected(String key) {
+        return meterRegistry.get(REJECTED_METER_NAME).tag("key", key).counter().count();
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.jhipster.sample.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.jhipster.sample.config.ApplicationProperties;
+import io.github.jhipster.sample.management.SecurityMetersService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Test class for the {@link RateLimitFilter}.
+ */
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(
+        new ApplicationProperties.Security.RateLimit(),
+        new SecurityMetersService(new SimpleMeterRegistry())
+    );
+
+    @Test
+    void testReplayedBodyCanBeReadWithReadListener() throws Exception {
+        String body = "{\"username\":\"user\",\"password\":\"secret\"}";
+        var request = new MockHttpServletRequest("POST", RateLimitFilter.AUTHENTICATE_PATH);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        var chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletInputStream input = chain.getRequest().getInputStream();
+        var read = new ByteArrayOutputStream();
+        List<String> callbacks = new ArrayList<>();
+        input.setReadListener(
+            new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    callbacks.add("data");
+                    byte[] buffer = new byte[8];
+                    int length;
+                    while (input.isReady() && (length = input.read(buffer)) != -1) {
+                        read.write(buffer, 0, length);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    callbacks.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    callbacks.add("error");
+                }
+            }
+        );
+
+        assertThat(callbacks).containsExactly("data", "done");
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(body);
+        assertThat(input.isFinished()).isTrue();
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.jhipster.sample.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.domain.Label;
+import io.github.jhipster.sample.domain.Operation;
+import io.github.jhipster.sample.repository.LabelRepository;
+import io.github.jhipster.sample.repository.OperationRepository;
+import io.github.jhipster.sample.security.AuthoritiesConstants;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link ResponseCacheFilter}.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ResponseCacheFilterIT {
+
+    private static final String LABELS_API_URL = "/api/labels";
+
+    private static final String AUTHORITIES_API_URL = "/api/authorities";
+
+    private static final SimpleGrantedAuthority USER = new SimpleGrantedAuthority(AuthoritiesConstants.USER);
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private LabelRepository labelRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private final List<Long> createdLabelIds = new ArrayList<>();
+
+    private final List<Long> createdOperationIds = new ArrayList<>();
+
+    @BeforeEach
+    void initTest() {
+        cacheManager.getCache(ResponseCacheFilter.RESPONSES_CACHE).clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        operationRepository.deleteAllById(createdOperationIds);
+        labelRepository.deleteAllById(createdLabelIds);
+    }
+
+    @Test
+    void testListIsServedFromCache() throws Exception {
+        Label label = labelRepository.saveAndFlush(new Label().label("cached"));
+        createdLabelIds.add(label.getId());
+        String etag = restMockMvc
+            .perform(get(LABELS_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // Written in native SQL, which Hibernate does not see, so the cached list is still served
+        jdbcTemplate.update("update label set label = 'renamed-in-sql' where id = ?", label.getId());
+
+        restMockMvc
+            .perform(get(LABELS_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(jsonPath("$.[*].label").value(not(hasItem("renamed-in-sql"))));
+    }
+
+    @Test
+    void testRepositoryWriteInvalidatesCache() throws Exception {
+        restMockMvc.perform(get(LABELS_API_URL)).andExpect(status().isOk());
+
+        Label label = labelRepository.saveAndFlush(new Label().label("written-by-repository"));
+        createdLabelIds.add(label.getId());
+
+        restMockMvc
+            .perform(get(LABELS_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].label").value(hasItem("written-by-repository")));
+    }
+
+    @Test
+    void testOperationWriteInvalidatesLabels() throws Exception {
+        Label label = labelRepository.saveAndFlush(new Label().label("with-operation"));
+        createdLabelIds.add(label.getId());
+        restMockMvc.perform(get(LABELS_API_URL)).andExpect(status().isOk());
+        var key = new ResponseCacheFilter.CacheKey(LABELS_API_URL, AuthoritiesConstants.USER);
+        assertThat(cacheManager.getCache(ResponseCacheFilter.RESPONSES_CACHE).get(key)).isNotNull();
+
+        Operation operation = operationRepository.saveAndFlush(new Operation().date(Instant.now()).amount(BigDecimal.TEN).addLabel(label));
+        createdOperationIds.add(operation.getId());
+
+        assertThat(cacheManager.getCache(ResponseCacheFilter.RESPONSES_CACHE).get(key)).isNull();
+    }
+
+    @Test
+    void testMatchingEtagIsNotModified() throws Exception {
+        String etag = restMockMvc.perform(get(LABELS_API_URL)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        restMockMvc
+            .perform(get(LABELS_API_URL).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void testGzippedBodyIsServedWhenAccepted() throws Exception {
+        byte[] body = restMockMvc.perform(get(LABELS_API_URL)).andReturn().getResponse().getContentAsByteArray();
+
+        MvcResult result = restMockMvc
+            .perform(get(LABELS_API_URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+        assertThat(gunzip(result.getResponse().getContentAsByteArray())).isEqualTo(body);
+    }
+
+    @Test
+    void testWriteThroughApiInvalidatesCache() throws Exception {
+        restMockMvc.perform(get(LABELS_API_URL)).andExpect(status().isOk());
+
+        String created = restMockMvc
+            .perform(
+                post(LABELS_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new Label().label("cached-after-write")))
+            )
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        createdLabelIds.add(om.readValue(created, Label.class).getId());
+
+        restMockMvc
+            .perform(get(LABELS_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].label").value(hasItem("cached-after-write")));
+    }
+
+    @Test
+    void testForbiddenResponseIsNotCached() throws Exception {
+        restMockMvc.perform(get(AUTHORITIES_API_URL)).andExpect(status().isForbidden());
+
+        restMockMvc.perform(get(AUTHORITIES_API_URL)).andExpect(status().isForbidden()).andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void testResponsesAreCachedPerAuthorizationScope() throws Exception {
+        restMockMvc
+            .perform(get(AUTHORITIES_API_URL))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].name").value(hasItem(AuthoritiesConstants.ADMIN)));
+
+        restMockMvc.perform(get(AUTHORITIES_API_URL).with(user("user").authorities(USER))).andExpect(status().isForbidden());
+        restMockMvc.perform(get(AUTHORITIES_API_URL)).andExpect(status().isOk());
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
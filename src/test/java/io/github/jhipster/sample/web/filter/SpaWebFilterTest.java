@@ -0,0 +1,51 @@
+package io.github.jhipster.sample.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SpaWebFilter}.
+ */
+class SpaWebFilterTest {
+
+    @Test
+    void testClientPathsAreTheSameAsWithThePattern() {
+        List<String> paths = List.of(
+            "",
+            "/",
+            "first-level",
+            "/first-level",
+            "/first-level/second-level/",
+            "/1/2/3/4/5/6/7/8/9/10",
+            "/file.js",
+            "/folder/file.css",
+            "/api",
+            "/apis",
+            "/api/account",
+            "/management/health",
+            "/v3/api-docs",
+            "/v3/api",
+            "/h2-console/",
+            "/admin/user-management",
+            "/line\nbreak",
+            "/line separator"
+        );
+
+        for (String path : paths) {
+            assertThat(SpaWebFilter.isClientPath(path)).as(path).isEqualTo(legacyIsClientPath(path));
+        }
+    }
+
+    private static boolean legacyIsClientPath(String path) {
+        return (
+            !path.startsWith("/api") &&
+            !path.startsWith("/management") &&
+            !path.startsWith("/v3/api-docs") &&
+            !path.startsWith("/h2-console") &&
+            !path.contains(".") &&
+            path.matches("/(.*)")
+        );
+    }
+}
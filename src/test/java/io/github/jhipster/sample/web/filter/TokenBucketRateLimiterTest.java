@@ -0,0 +1,80 @@
+package io.github.jhipster.sample.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TokenBucketRateLimiter}.
+ */
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void testBurstIsAllowedUpToCapacity() {
+        var limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(3), 100, now::get);
+
+        assertThat(limiter.tryAcquire("key")).isZero();
+        assertThat(limiter.tryAcquire("key")).isZero();
+        assertThat(limiter.tryAcquire("key")).isZero();
+        assertThat(limiter.tryAcquire("key")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        // Another key has its own bucket
+        assertThat(limiter.tryAcquire("other")).isZero();
+    }
+
+    @Test
+    void testBucketRefillsOverThePeriod() {
+        var limiter = new TokenBucketRateLimiter(3, Duration.ofSeconds(3), 100, now::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key");
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(400));
+        assertThat(limiter.tryAcquire("key")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(600));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        assertThat(limiter.tryAcquire("key")).isZero();
+        assertThat(limiter.tryAcquire("key")).isPositive();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("key")).isZero();
+        }
+        assertThat(limiter.tryAcquire("key")).isPositive();
+    }
+
+    @Test
+    void testIdleBucketsAreEvictedFirst() {
+        // One key per stripe
+        var limiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(1), 16, now::get);
+        int keys = 200;
+        for (int i = 0; i < keys; i++) {
+            limiter.tryAcquire("key-" + i);
+            now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(16);
+        assertThat(limiter.overflows()).isZero();
+    }
+
+    @Test
+    void testBusyBucketClosestToFullIsDroppedWhenFull() {
+        // Four keys per stripe
+        var limiter = new TokenBucketRateLimiter(2, Duration.ofMinutes(1), 64, now::get);
+        limiter.tryAcquire("victim");
+        limiter.tryAcquire("victim");
+        assertThat(limiter.tryAcquire("victim")).isPositive();
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(64);
+        assertThat(limiter.overflows()).isPositive();
+        assertThat(limiter.tryAcquire("victim")).isPositive();
+    }
+}
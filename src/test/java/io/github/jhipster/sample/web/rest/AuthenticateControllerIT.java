@@ -1,9 +1,12 @@
 package io.github.jhipster.sample.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -11,13 +14,16 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.jhipster.sample.IntegrationTest;
+import io.github.jhipster.sample.config.ApplicationProperties;
 import io.github.jhipster.sample.domain.User;
 import io.github.jhipster.sample.repository.UserRepository;
 import io.github.jhipster.sample.web.rest.vm.LoginVM;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +44,9 @@ class AuthenticateControllerIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -88,6 +97,58 @@ class AuthenticateControllerIT {
             .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
+    @Test
+    @Transactional
+    void testAuthorizeUpgradesOutdatedPasswordHash() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-outdated-hash");
+        user.setEmail("user-jwt-controller-outdated-hash@example.com");
+        user.setActivated(true);
+        user.setPassword(new BCryptPasswordEncoder(4).encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-outdated-hash");
+        login.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+            .andExpect(status().isOk());
+
+        String upgradedPassword = userRepository.findOneByLogin("user-jwt-controller-outdated-hash").orElseThrow().getPassword();
+        int cost = applicationProperties.getSecurity().getPasswordHashing().getMinCost();
+        assertThat(upgradedPassword).startsWith(String.format("$2a$%02d$", cost));
+        assertThat(passwordEncoder.matches("test", upgradedPassword)).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void testRevokedTokenIsRejected() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-revoked");
+        user.setEmail("user-jwt-controller-revoked@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-revoked");
+        login.setPassword("test");
+        String authorization = mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.AUTHORIZATION);
+
+        // The first request caches the verified token
+        mockMvc.perform(get("/api/authenticate").header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/authenticate").header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/authenticate").header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isUnauthorized());
+    }
+
     @Test
     void testAuthorizeFails() throws Exception {
         LoginVM login = new LoginVM();
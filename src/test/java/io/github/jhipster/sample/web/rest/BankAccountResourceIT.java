@@ -197,6 +197,17 @@ class BankAccountResourceIT {
             .andExpect(jsonPath("$.[*].balance").value(hasItem(sameNumber(DEFAULT_BALANCE))));
     }
 
+    @Test
+    @Transactional
+    void getBankAccountsByUserId() {
+        var user = userRepository.findOneByLogin("user").orElseThrow();
+        bankAccount.setUser(user);
+        insertedBankAccount = bankAccountRepository.saveAndFlush(bankAccount);
+
+        assertThat(bankAccountRepository.findByUserId(user.getId())).extracting(BankAccount::getId).contains(bankAccount.getId());
+        assertThat(bankAccountRepository.findByUserId(Long.MAX_VALUE)).isEmpty();
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllBankAccountsWithEagerRelationshipsIsEnabled() throws Exception {
         when(bankAccountRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
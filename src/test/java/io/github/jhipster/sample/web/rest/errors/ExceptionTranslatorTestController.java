@@ -1,5 +1,6 @@
 package io.github.jhipster.sample.web.rest.errors;
 
+import io.github.jhipster.sample.security.PasswordHashingRejectedException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -47,6 +48,11 @@ public class ExceptionTranslatorTestController {
         throw new TestResponseStatusException();
     }
 
+    @GetMapping("/too-many-requests")
+    public void tooManyRequests() {
+        throw new PasswordHashingRejectedException("test password hashing rejected");
+    }
+
     @GetMapping("/internal-server-error")
     public void internalServerError() {
         throw new RuntimeException();
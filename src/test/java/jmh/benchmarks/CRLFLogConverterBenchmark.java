@@ -0,0 +1,80 @@
+package jmh.benchmarks;
+
+import ch.qos.logback.classic.spi.LoggingEvent;
+import io.github.jhipster.sample.config.CRLFLogConverter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Nanoseconds per log message sanitized by the {@link CRLFLogConverter}, compared to the regular expression
+ * replacement it used to make, for a clean message, a message with CRLF characters, and an ANSI-colored one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CRLFLogConverterBenchmark {
+
+    @Param({ "clean", "dirty", "ansi" })
+    private String input;
+
+    private String message;
+
+    private LoggingEvent event;
+
+    private Converter converter;
+
+    @Setup
+    public void setup() {
+        message = switch (input) {
+            case "clean" -> "Request to get User : UserDTO{login='admin', firstName='Administrator', activated=true}";
+            case "dirty" -> "Request to get User : admin\r\n2026-01-01 INFO Forged entry\tfor user 'admin'";
+            case "ansi" -> "\u001B[2m2026-01-01T10:00:00.000Z\u001B[0;39m \u001B[32m INFO\u001B[0;39m Request to get User : admin";
+            default -> throw new IllegalArgumentException(input);
+        };
+        event = new LoggingEvent();
+        event.setLoggerName("io.github.jhipster.sample.web.rest.UserResource");
+        converter = new Converter();
+        converter.setOptionList(List.of("red"));
+    }
+
+    @Benchmark
+    public String regex() {
+        return message.replaceAll("[\n\r\t]", "_");
+    }
+
+    @Benchmark
+    public String converter() {
+        return converter.sanitize(event, message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CRLFLogConverterBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Exposes {@code transform}, which is protected.
+     */
+    private static final class Converter extends CRLFLogConverter {
+
+        String sanitize(LoggingEvent event, String in) {
+            return transform(event, in);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package jmh.benchmarks;
+
+import static io.github.jhipster.sample.security.SecurityUtils.AUTHORITIES_CLAIM;
+import static io.github.jhipster.sample.security.SecurityUtils.USER_ID_CLAIM;
+
+import io.github.jhipster.sample.security.AuthoritiesConstants;
+import io.github.jhipster.sample.security.InternedJwtAuthenticationConverter;
+import io.github.jhipster.sample.security.SecurityUtils;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+/**
+ * Per-request authorization overhead once the bearer token is decoded: converting the {@link Jwt} into an
+ * authentication and checking the roles of the current user, with the default Spring Security converter and
+ * with the {@link InternedJwtAuthenticationConverter}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthoritiesBenchmark {
+
+    private Jwt jwt;
+
+    private JwtAuthenticationConverter defaultConverter;
+
+    private InternedJwtAuthenticationConverter internedConverter;
+
+    @Setup
+    public void setup() {
+        var now = Instant.now();
+        jwt = Jwt.withTokenValue("token")
+            .header("alg", "HS512")
+            .subject("admin")
+            .issuedAt(now)
+            .expiresAt(now.plusSeconds(3600))
+            .claim(AUTHORITIES_CLAIM, AuthoritiesConstants.ADMIN + " " + AuthoritiesConstants.USER)
+            .claim(USER_ID_CLAIM, 1L)
+            .build();
+
+        // Same settings as the spring.security.oauth2.resourceserver.jwt properties the application used before
+        var authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName(AUTHORITIES_CLAIM);
+        authoritiesConverter.setAuthorityPrefix("");
+        defaultConverter = new JwtAuthenticationConverter();
+        defaultConverter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+
+        internedConverter = new InternedJwtAuthenticationConverter();
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean defaultConverter() {
+        return authorize(defaultConverter.convert(jwt));
+    }
+
+    @Benchmark
+    public boolean internedConverter() {
+        return authorize(internedConverter.convert(jwt));
+    }
+
+    private static boolean authorize(Authentication authentication) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return (
+            SecurityUtils.isAuthenticated() &&
+            SecurityUtils.hasCurrentUserAnyOfAuthorities(AuthoritiesConstants.ADMIN) &&
+            SecurityUtils.hasCurrentUserNoneOfAuthorities(AuthoritiesConstants.ANONYMOUS)
+        );
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthoritiesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,115 @@
+package jmh.benchmarks;
+
+import static io.github.jhipster.sample.security.SecurityUtils.AUTHORITIES_CLAIM;
+import static io.github.jhipster.sample.security.SecurityUtils.JWT_ALGORITHM;
+import static io.github.jhipster.sample.security.SecurityUtils.USER_ID_CLAIM;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.github.jhipster.sample.management.SecurityMetersService;
+import io.github.jhipster.sample.security.CachingJwtDecoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Per-request cost of decoding the bearer token, with and without the {@link CachingJwtDecoder}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtDecoderBenchmark {
+
+    private CacheManager cacheManager;
+
+    private JwtDecoder nimbusJwtDecoder;
+
+    private JwtDecoder cachingJwtDecoder;
+
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        byte[] keyBytes = new byte[64];
+        new SecureRandom().nextBytes(keyBytes);
+        SecretKey secretKey = new SecretKeySpec(keyBytes, JWT_ALGORITHM.getName());
+
+        var now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .issuedAt(now)
+            .expiresAt(now.plus(Duration.ofDays(1)))
+            .subject("user")
+            .claim(AUTHORITIES_CLAIM, "ROLE_USER")
+            .claim(USER_ID_CLAIM, 2L)
+            .build();
+        token = new NimbusJwtEncoder(new ImmutableSecret<>(secretKey))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims))
+            .getTokenValue();
+
+        nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(JWT_ALGORITHM).build();
+
+        cacheManager = Caching.getCachingProvider(EhcacheCachingProvider.class.getName()).getCacheManager();
+        var cache = cacheManager.createCache(
+            CachingJwtDecoder.VERIFIED_JWTS_CACHE,
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(String.class, Jwt.class, ResourcePoolsBuilder.heap(10000))
+                    .withExpiry(new CachingJwtDecoder.TokenExpiry(Duration.ofHours(1)))
+                    .build()
+            )
+        );
+        cachingJwtDecoder = new CachingJwtDecoder(nimbusJwtDecoder, cache, new SecurityMetersService(new SimpleMeterRegistry()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cacheManager.destroyCache(CachingJwtDecoder.VERIFIED_JWTS_CACHE);
+    }
+
+    @Benchmark
+    public Jwt withoutCache() {
+        return nimbusJwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt withCache() {
+        return cachingJwtDecoder.decode(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtDecoderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package jmh.benchmarks;
+
+import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.service.MailTemplateRenderer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Activation mails rendered per second when inviting many users at once: one by one as {@code MailService} used to,
+ * building the locale, the Thymeleaf context and the subject of every mail, with the {@link MailTemplateRenderer} on
+ * the calling thread, and with the renderer in parallel on one thread per available processor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MailRenderingBenchmark {
+
+    private static final int USERS = 1000;
+
+    private static final String TEMPLATE = "mail/activationEmail";
+
+    private static final String TITLE_KEY = "email.activation.title";
+
+    private static final String BASE_URL = "http://127.0.0.1:8080";
+
+    private final List<User> users = new ArrayList<>();
+
+    private SpringTemplateEngine templateEngine;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private ExecutorService executor;
+
+    private MailTemplateRenderer renderer;
+
+    private MailTemplateRenderer sequentialRenderer;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setLogin("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setLangKey("en");
+            user.setActivationKey("activation-key-" + i);
+            users.add(user);
+        }
+
+        var templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+
+        var jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setBaseUrl(BASE_URL);
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        renderer = new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties, executor);
+        sequentialRenderer = new MailTemplateRenderer(templateEngine, messageSource, jHipsterProperties, Runnable::run);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public void perMessage(Blackhole blackhole) {
+        for (User user : users) {
+            Locale locale = Locale.forLanguageTag(user.getLangKey());
+            Context context = new Context(locale);
+            context.setVariable("user", user);
+            context.setVariable("baseUrl", BASE_URL);
+            blackhole.consume(templateEngine.process(TEMPLATE, context));
+            blackhole.consume(messageSource.getMessage(TITLE_KEY, null, locale));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public List<MailTemplateRenderer.RenderedMail> renderer() {
+        return sequentialRenderer.renderAll(users, TEMPLATE, TITLE_KEY, "en");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS)
+    public List<MailTemplateRenderer.RenderedMail> rendererInParallel() {
+        return renderer.renderAll(users, TEMPLATE, TITLE_KEY, "en");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MailRenderingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package jmh.benchmarks;
+
+import io.github.jhipster.sample.aop.logging.LoggingAspect;
+import io.github.jhipster.sample.aop.timing.TimingAspect;
+import io.github.jhipster.sample.domain.User;
+import io.github.jhipster.sample.service.mapper.UserMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Nanoseconds per call of a trivial service method, without advice, through the {@link LoggingAspect} with debug logs
+ * off, and through the {@link TimingAspect} timing every call, one call in ten, or none.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MethodTimingBenchmark {
+
+    @Param({ "none", "logging", "timing", "timing-sampled", "timing-disabled" })
+    private String advice;
+
+    private UserMapper userMapper;
+
+    private long id;
+
+    @Setup
+    public void setup() {
+        var proxyFactory = new AspectJProxyFactory(new UserMapper());
+        proxyFactory.setProxyTargetClass(true);
+        var meterRegistry = new SimpleMeterRegistry();
+        switch (advice) {
+            case "none" -> {}
+            case "logging" -> proxyFactory.addAspect(new LoggingAspect(new MockEnvironment()));
+            case "timing" -> proxyFactory.addAspect(new TimingAspect(meterRegistry, true, 1));
+            case "timing-sampled" -> proxyFactory.addAspect(new TimingAspect(meterRegistry, true, 0.1));
+            case "timing-disabled" -> proxyFactory.addAspect(new TimingAspect(meterRegistry, false, 1));
+            default -> throw new IllegalArgumentException(advice);
+        }
+        userMapper = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public User call() {
+        return userMapper.userFromId(++id);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MethodTimingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package jmh.benchmarks;
+
+import io.github.jhipster.sample.config.SecurityConfiguration;
+import io.github.jhipster.sample.security.AuthoritiesConstants;
+import io.github.jhipster.sample.security.PathTrieAuthorizationManager;
+import io.github.jhipster.sample.web.filter.SpaWebFilter;
+import jakarta.servlet.FilterChain;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+/**
+ * Per-request cost of the path rules: authorizing a request with the {@code requestMatchers} chain Spring Security
+ * builds from the rules of {@link SecurityConfiguration} and with the {@link PathTrieAuthorizationManager} compiled
+ * from the same rules, and deciding whether the {@link SpaWebFilter} forwards it, with the former pattern-based
+ * check and with the filter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestAuthorizationBenchmark {
+
+    /**
+     * An early rule, rules in the middle and at the end of the list, and a client route.
+     */
+    @Param({ "/main.js", "/api/account", "/api/admin/users/user", "/management/info", "/admin/user-management" })
+    private String path;
+
+    private final Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(
+        "admin",
+        null,
+        AuthorityUtils.createAuthorityList(AuthoritiesConstants.ADMIN)
+    );
+
+    private final Supplier<Authentication> authenticationSupplier = () -> authentication;
+
+    private final FilterChain filterChain = (request, response) -> {};
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private RequestAuthorizationContext context;
+
+    private RequestMatcherDelegatingAuthorizationManager requestMatchersChain;
+
+    private PathTrieAuthorizationManager pathTrie;
+
+    private SpaWebFilter spaWebFilter;
+
+    @Setup
+    public void setup() {
+        request = new MockHttpServletRequest("GET", path);
+        response = new MockHttpServletResponse();
+        context = new RequestAuthorizationContext(request);
+
+        List<PathTrieAuthorizationManager.Rule> rules = SecurityConfiguration.authorizationRules(false);
+        var builder = RequestMatcherDelegatingAuthorizationManager.builder();
+        for (PathTrieAuthorizationManager.Rule rule : rules) {
+            builder.add(PathPatternRequestMatcher.withDefaults().matcher(rule.method(), rule.pattern()), rule.manager());
+        }
+        requestMatchersChain = builder.build();
+        pathTrie = PathTrieAuthorizationManager.of(rules);
+        spaWebFilter = new SpaWebFilter();
+    }
+
+    @Benchmark
+    public boolean requestMatchersChain() {
+        return requestMatchersChain.authorize(authenticationSupplier, request).isGranted();
+    }
+
+    @Benchmark
+    public boolean pathTrie() {
+        return pathTrie.authorize(authenticationSupplier, context).isGranted();
+    }
+
+    @Benchmark
+    public boolean spaPattern() {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        return (
+            !uri.startsWith("/api") &&
+            !uri.startsWith("/management") &&
+            !uri.startsWith("/v3/api-docs") &&
+            !uri.startsWith("/h2-console") &&
+            !uri.contains(".") &&
+            uri.matches("/(.*)")
+        );
+    }
+
+    @Benchmark
+    public MockHttpServletResponse spaWebFilter() throws Exception {
+        spaWebFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestAuthorizationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+package jmh.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Milliseconds from the start of the JVM until the application is ready, with and without the Class Data Sharing
+ * archive created by the {@code cds} Maven profile, which must be built first: {@code ./mvnw -Pdev,cds package}.
+ * <p>
+ * Each invocation starts the extracted application from {@code target/cds}, with the Spring profiles it was packaged
+ * with, and stops it once the {@code StartupTimelineEndpoint} logs that it is ready.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final Path CDS_DIRECTORY = Path.of("target", "cds");
+
+    private static final String ARCHIVE = "application.jsa";
+
+    private static final String READY = "Application ready in";
+
+    @Param({ "false", "true" })
+    private boolean sharedArchive;
+
+    private Process application;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (!Files.exists(CDS_DIRECTORY.resolve(ARCHIVE))) {
+            throw new IllegalStateException("No archive in " + CDS_DIRECTORY.toAbsolutePath() + ", build it with ./mvnw -Pdev,cds package");
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+    }
+
+    @Benchmark
+    public void timeToReady() throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (sharedArchive) {
+            command.add("-XX:SharedArchiveFile=" + ARCHIVE);
+        }
+        command.addAll(List.of("-jar", "application.jar", "--server.port=0"));
+        application = new ProcessBuilder(command).directory(CDS_DIRECTORY.toFile()).redirectErrorStream(true).start();
+        try (BufferedReader output = application.inputReader()) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.contains(READY)) {
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException("The application stopped before being ready, with exit code " + application.waitFor());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StartupBenchmark.class.getSimpleName()).build()).run();
+    }
+}